@@ -1,14 +1,24 @@
 package org.example.apigateway.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class AppConfig {
 
+    @Value("${gateway.url}")
+    private String gatewayUrl;
+
+    /**
+     * Calls the services back through this gateway so that {@code AuthGlobalFilter} resolves the caller once per
+     * request and forwards the same user headers a client would get.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public WebClient gatewayWebClient() {
+        return WebClient.builder()
+                .baseUrl(gatewayUrl)
+                .build();
     }
 }
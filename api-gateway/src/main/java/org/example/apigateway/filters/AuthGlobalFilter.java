@@ -14,18 +14,32 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
-
+import java.util.Optional;
+
+/**
+ * Resolves the caller of every request outside {@code /api/auth} and forwards them as {@code X-User-*} headers. By
+ * default tokens are introspected by auth-service through {@link TokenIntrospectionCache}; with
+ * {@code auth.verification=local} they are verified in the gateway by {@link LocalTokenVerifier}, and only tokens
+ * without the user claims still go to auth-service.
+ */
 @Component
 public class AuthGlobalFilter implements GlobalFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final WebClient authWebClient;
+    private final TokenIntrospectionCache tokenIntrospectionCache;
+    private final LocalTokenVerifier localTokenVerifier;
 
     private final List<String> excludedPaths = List.of("/api/auth");
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthGlobalFilter.class);
 
-    public AuthGlobalFilter(final WebClient authWebClient) {
+    public AuthGlobalFilter(final WebClient authWebClient, final TokenIntrospectionCache tokenIntrospectionCache,
+                            final Optional<LocalTokenVerifier> localTokenVerifier) {
         this.authWebClient = authWebClient;
+        this.tokenIntrospectionCache = tokenIntrospectionCache;
+        this.localTokenVerifier = localTokenVerifier.orElse(null);
     }
 
     @Override
@@ -42,36 +56,20 @@ public class AuthGlobalFilter implements GlobalFilter {
 
         String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
             LOGGER.warn(
                     "Authorization header is missing or invalid for path: {} with authHeader: {}", path, authHeader);
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
 
-        LOGGER.debug("Authorization header found. Calling authentication service.");
+        LOGGER.debug("Authorization header found. Resolving the caller.");
 
-        return authWebClient
-                .get()
-                .uri("/api/auth/me")
-                .header(HttpHeaders.AUTHORIZATION, authHeader)
-                .retrieve()
-                .onStatus(status -> status != HttpStatus.OK,
-                        resp -> {
-                            LOGGER.error("Authentication service returned non-OK status: {}. Headers: {}",
-                                    resp.statusCode(), resp.headers().asHttpHeaders());
-                            return resp.bodyToMono(String.class)
-                                    .doOnNext(body -> LOGGER.error("Authentication service failed body: {}", body))
-                                    .then(Mono.error(new
-                                            ValidationException("Authentication service rejected request")));
-                        })
-                .toEntity(Void.class)
-                .flatMap(authResponseEntity -> {
-                    LOGGER.debug("Authentication service returned OK. Extracting headers.");
-                    HttpHeaders authHeaders = authResponseEntity.getHeaders();
-                    String userRoles = authHeaders.getFirst("X-User-Roles");
-                    String userEmail = authHeaders.getFirst("X-User-Email");
-                    String userId = authHeaders.getFirst("X-User-Id");
+        return resolve(authHeader)
+                .flatMap(user -> {
+                    String userRoles = user.roles();
+                    String userEmail = user.email();
+                    String userId = user.userId();
 
                     LOGGER.debug("Extracted headers - X-User-Roles: {}, X-User-Email: {}, X-User-Id: {}", userRoles,
                             userEmail, userId);
@@ -101,4 +99,39 @@ public class AuthGlobalFilter implements GlobalFilter {
                     return exchange.getResponse().setComplete();
                 });
     }
+
+    private Mono<TokenIntrospectionCache.UserHeaders> resolve(final String authHeader) {
+        String token = authHeader.substring(BEARER_PREFIX.length());
+        if (localTokenVerifier == null) {
+            return tokenIntrospectionCache.get(token, () -> introspect(authHeader));
+        }
+        return Mono.fromCallable(() -> localTokenVerifier.verify(token))
+                .flatMap(Mono::justOrEmpty)
+                .switchIfEmpty(Mono.defer(() -> tokenIntrospectionCache.get(token, () -> introspect(authHeader))));
+    }
+
+    private Mono<TokenIntrospectionCache.UserHeaders> introspect(final String authHeader) {
+        LOGGER.debug("Token not cached. Calling authentication service.");
+        return authWebClient
+                .get()
+                .uri("/api/auth/me")
+                .header(HttpHeaders.AUTHORIZATION, authHeader)
+                .retrieve()
+                .onStatus(status -> status != HttpStatus.OK,
+                        resp -> {
+                            LOGGER.error("Authentication service returned non-OK status: {}. Headers: {}",
+                                    resp.statusCode(), resp.headers().asHttpHeaders());
+                            return resp.bodyToMono(String.class)
+                                    .doOnNext(body -> LOGGER.error("Authentication service failed body: {}", body))
+                                    .then(Mono.error(new
+                                            ValidationException("Authentication service rejected request")));
+                        })
+                .toEntity(Void.class)
+                .map(authResponseEntity -> {
+                    LOGGER.debug("Authentication service returned OK. Extracting headers.");
+                    HttpHeaders authHeaders = authResponseEntity.getHeaders();
+                    return new TokenIntrospectionCache.UserHeaders(authHeaders.getFirst("X-User-Id"),
+                            authHeaders.getFirst("X-User-Roles"), authHeaders.getFirst("X-User-Email"));
+                });
+    }
 }
@@ -0,0 +1,57 @@
+package org.example.apigateway.filters;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Verifies access tokens in the gateway with auth-service's signing key instead of asking auth-service, enabled with
+ * {@code auth.verification=local}. The key and parser are built once. Tokens issued before their user's last logout
+ * are rejected through {@link TokenRevocationList}.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.verification", havingValue = "local")
+public class LocalTokenVerifier {
+
+    static final String USER_ID_CLAIM = "userId";
+    static final String ROLE_CLAIM = "role";
+
+    private final JwtParser parser;
+    private final TokenRevocationList revocationList;
+
+    public LocalTokenVerifier(@Value("${jwt.token.secret}") final String secret,
+                              final TokenRevocationList revocationList) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build();
+        this.revocationList = revocationList;
+    }
+
+    /**
+     * Returns the caller of a valid token, or nothing if the token predates the {@code userId} and {@code role}
+     * claims and has to be resolved by auth-service.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     * @throws ValidationException if the token has been revoked
+     */
+    public Optional<TokenIntrospectionCache.UserHeaders> verify(final String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return Optional.empty();
+        }
+        if (claims.getIssuedAt() == null || revocationList.isRevoked(userId, claims.getIssuedAt().toInstant())) {
+            throw new ValidationException("Token has been revoked");
+        }
+        return Optional.of(new TokenIntrospectionCache.UserHeaders(userId, role, claims.getSubject()));
+    }
+}
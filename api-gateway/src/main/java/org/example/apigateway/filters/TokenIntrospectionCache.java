@@ -0,0 +1,117 @@
+package org.example.apigateway.filters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which user a bearer token resolved to, so {@link AuthGlobalFilter} asks auth-service once per token
+ * rather than once per request. Entries are keyed by a SHA-256 of the token and live for
+ * {@code auth.introspection-cache.ttl}, or until the token's own {@code exp} if that comes first. Concurrent misses
+ * for the same token share one in-flight call, and rejected tokens are never cached. Hits and misses are published
+ * as the {@code cache.*} metrics of {@code token-introspection}.
+ */
+@Component
+public class TokenIntrospectionCache {
+
+    /**
+     * The headers auth-service resolved for a token, forwarded as is to the downstream service.
+     */
+    public record UserHeaders(String userId, String roles, String email) {
+    }
+
+    private static final String CACHE_NAME = "token-introspection";
+
+    private final AsyncCache<String, CachedUser> cache;
+    private final ObjectMapper objectMapper;
+
+    public TokenIntrospectionCache(@Value("${auth.introspection-cache.ttl:30s}") final Duration ttl,
+                                   @Value("${auth.introspection-cache.max-size:100000}") final long maxSize,
+                                   final ObjectMapper objectMapper,
+                                   final MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedUser>() {
+                    @Override
+                    public long expireAfterCreate(final String key, final CachedUser value, final long currentTime) {
+                        long untilTokenExpiry = value.expiresAtMillis() - System.currentTimeMillis();
+                        return Duration.ofMillis(Math.max(0, Math.min(ttl.toMillis(), untilTokenExpiry))).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(final String key, final CachedUser value, final long currentTime,
+                                                  final long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(final String key, final CachedUser value, final long currentTime,
+                                                final long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the user cached for {@code token}, or subscribes to {@code introspection} to resolve it. Callers
+     * cancelling their request do not cancel an introspection other requests may be waiting on. A failed
+     * introspection is dropped before its error reaches the caller, so the next request for the token retries.
+     */
+    public Mono<UserHeaders> get(final String token, final Supplier<Mono<UserHeaders>> introspection) {
+        String key = hash(token);
+        CompletableFuture<CachedUser> user = cache.get(key, (k, executor) -> introspection.get()
+                .map(resolved -> new CachedUser(resolved, expiresAtMillis(token)))
+                .toFuture());
+        return Mono.fromFuture(user, true)
+                .doOnError(e -> cache.asMap().remove(key, user))
+                .map(CachedUser::user);
+    }
+
+    private long expiresAtMillis(final String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length > 1) {
+            try {
+                JsonNode exp = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+                if (exp != null && exp.canConvertToLong()) {
+                    return TimeUnit.SECONDS.toMillis(exp.asLong());
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static String hash(final String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedUser(UserHeaders user, long expiresAtMillis) {
+    }
+}
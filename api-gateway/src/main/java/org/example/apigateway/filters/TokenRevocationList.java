@@ -0,0 +1,50 @@
+package org.example.apigateway.filters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Remembers, per user, the moment auth-service revoked their tokens. A revocation only has to outlive the tokens it
+ * revokes, so entries are dropped after {@code auth.revocation.retention}, which should be at least the access token
+ * lifetime ({@code jwt.token.expires} in auth-service). Tokens carry their issue time in whole seconds, so revocations
+ * are kept to the second as well: a token issued in the second of the logout stays valid, as it would with remote
+ * verification, rather than rejecting a login made right after the logout for its whole lifetime.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.verification", havingValue = "local")
+public class TokenRevocationList {
+
+    private final Duration retention;
+    private final Cache<String, Instant> revokedAt;
+
+    public TokenRevocationList(@Value("${auth.revocation.retention:30m}") final Duration retention) {
+        this.retention = retention;
+        this.revokedAt = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    public Duration retention() {
+        return retention;
+    }
+
+    public void revoke(final String userId, final Instant at) {
+        if (at.plus(retention).isBefore(Instant.now())) {
+            return;
+        }
+        revokedAt.asMap().merge(userId, at.truncatedTo(ChronoUnit.SECONDS),
+                (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    public boolean isRevoked(final String userId, final Instant issuedAt) {
+        Instant revoked = revokedAt.getIfPresent(userId);
+        return revoked != null && issuedAt.isBefore(revoked);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.apigateway.filters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Feeds {@link TokenRevocationList} from the {@code tokens-revoked} topic auth-service publishes on logout. Every
+ * gateway instance needs every revocation, so each one assigns itself all {@code auth.revocation.partitions}
+ * partitions of the topic without joining a consumer group, and starts reading at the oldest revocation the list
+ * still has to remember.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.verification", havingValue = "local")
+public class TokenRevocationListener implements ConsumerSeekAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationListener.class);
+
+    private final TokenRevocationList revocationList;
+    private final ObjectMapper objectMapper;
+
+    public TokenRevocationListener(final TokenRevocationList revocationList, final ObjectMapper objectMapper) {
+        this.revocationList = revocationList;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onPartitionsAssigned(final Map<TopicPartition, Long> assignments,
+                                     final ConsumerSeekCallback callback) {
+        callback.seekToTimestamp(assignments.keySet(),
+                Instant.now().minus(revocationList.retention()).toEpochMilli());
+    }
+
+    @KafkaListener(id = "gateway-tokens-revoked", idIsGroup = false,
+            topicPartitions = @org.springframework.kafka.annotation.TopicPartition(topic = "tokens-revoked",
+                    partitions = "0-#{${auth.revocation.partitions:6} - 1}"),
+            properties = "auto.offset.reset=earliest")
+    public void onTokensRevoked(final String payload) {
+        try {
+            TokensRevoked message = objectMapper.readValue(payload, TokensRevoked.class);
+            if (message.userId() != null && message.revokedAt() != null) {
+                revocationList.revoke(message.userId(), message.revokedAt());
+            }
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Skipping unreadable token revocation: {}", payload, e);
+        }
+    }
+
+    private record TokensRevoked(String userId, Instant revokedAt) {
+    }
+}
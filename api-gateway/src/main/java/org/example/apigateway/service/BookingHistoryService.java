@@ -0,0 +1,150 @@
+package org.example.apigateway.service;
+
+import org.example.apigateway.dto.BookingResponseDto;
+import org.example.apigateway.dto.EventResponseDto;
+import org.example.apigateway.dto.UserBookingResponseDto;
+import org.example.apigateway.dto.UserResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles a user's booking history without blocking: the bookings come first, then the current user, the booked
+ * events and the booked tickets are fetched concurrently. Event ids go {@code ids-per-request} to a query string and
+ * ticket ids {@code tickets-per-request} to a batch lookup, with at most {@code max-concurrency} requests of each
+ * kind in flight, and the whole lookup has to finish within {@code booking-history.timeout}.
+ */
+@Service
+public class BookingHistoryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookingHistoryService.class);
+    private static final ParameterizedTypeReference<List<BookingResponseDto>> BOOKING_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<List<EventResponseDto>> EVENT_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<List<EventResponseDto.TicketResponseDto>> TICKET_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient gatewayWebClient;
+    private final Duration timeout;
+    private final int maxConcurrency;
+    private final int idsPerRequest;
+    private final int ticketsPerRequest;
+
+    public BookingHistoryService(@Qualifier("gatewayWebClient") final WebClient gatewayWebClient,
+                                 @Value("${booking-history.timeout:5s}") final Duration timeout,
+                                 @Value("${booking-history.max-concurrency:4}") final int maxConcurrency,
+                                 @Value("${booking-history.ids-per-request:100}") final int idsPerRequest,
+                                 @Value("${booking-history.tickets-per-request:1000}") final int ticketsPerRequest) {
+        this.gatewayWebClient = gatewayWebClient;
+        this.timeout = timeout;
+        this.maxConcurrency = maxConcurrency;
+        this.idsPerRequest = idsPerRequest;
+        this.ticketsPerRequest = ticketsPerRequest;
+    }
+
+    public Mono<List<UserBookingResponseDto>> getBookingHistory(final String authorization) {
+        return get("/bookings/current-user", authorization)
+                .bodyToMono(BOOKING_LIST)
+                .defaultIfEmpty(List.of())
+                .flatMap(bookings -> bookings.isEmpty()
+                        ? Mono.just(List.<UserBookingResponseDto>of())
+                        : Mono.zip(getEvents(bookings, authorization), getTickets(bookings, authorization),
+                                get("/users/current-user", authorization).bodyToMono(UserResponseDto.class))
+                        .map(lookups -> toHistory(bookings, lookups.getT1(), lookups.getT2(), lookups.getT3())))
+                .timeout(timeout, Mono.error(() -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                        "Booking history was not assembled within " + timeout)));
+    }
+
+    private Mono<Map<UUID, EventResponseDto>> getEvents(final List<BookingResponseDto> bookings,
+                                                        final String authorization) {
+        return Flux.fromStream(bookings.stream().map(BookingResponseDto::getEventId).distinct())
+                .buffer(idsPerRequest)
+                .flatMap(eventIds -> gatewayWebClient.get()
+                        .uri(uri -> uri.path("/events")
+                                .queryParam("ids", eventIds.stream().map(UUID::toString)
+                                        .collect(Collectors.joining(",")))
+                                .build())
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .retrieve()
+                        .bodyToMono(EVENT_LIST), maxConcurrency)
+                .flatMapIterable(events -> events)
+                .collectMap(EventResponseDto::getId);
+    }
+
+    private Mono<Map<UUID, EventResponseDto.TicketResponseDto>> getTickets(final List<BookingResponseDto> bookings,
+                                                                          final String authorization) {
+        return Flux.fromStream(bookings.stream().map(BookingResponseDto::getTicketId).distinct())
+                .buffer(ticketsPerRequest)
+                .flatMap(ticketIds -> gatewayWebClient.post()
+                        .uri("/events/tickets:batchGet")
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .bodyValue(ticketIds)
+                        .retrieve()
+                        .bodyToMono(TICKET_LIST), maxConcurrency)
+                .flatMapIterable(tickets -> tickets)
+                .collectMap(EventResponseDto.TicketResponseDto::getTicketId);
+    }
+
+    private WebClient.ResponseSpec get(final String path, final String authorization) {
+        return gatewayWebClient.get()
+                .uri(path)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .retrieve();
+    }
+
+    private static List<UserBookingResponseDto> toHistory(final List<BookingResponseDto> bookings,
+                                                          final Map<UUID, EventResponseDto> eventById,
+                                                          final Map<UUID, EventResponseDto.TicketResponseDto>
+                                                                  ticketById,
+                                                          final UserResponseDto currentUser) {
+        List<UserBookingResponseDto> result = new ArrayList<>(bookings.size());
+        for (BookingResponseDto booking : bookings) {
+            EventResponseDto eventDto = eventById.get(booking.getEventId());
+            EventResponseDto.TicketResponseDto ticket = ticketById.get(booking.getTicketId());
+            if (eventDto == null || ticket == null) {
+                LOGGER.warn("Skipping booking {}: event {} or ticket {} no longer exists", booking.getId(),
+                        booking.getEventId(), booking.getTicketId());
+                continue;
+            }
+
+            UserBookingResponseDto dto = new UserBookingResponseDto();
+            dto.setBookingId(booking.getId());
+            dto.setEventName(eventDto.getName());
+            dto.setEventStartDate(eventDto.getStartDate());
+            dto.setEventEndDate(eventDto.getEndDate());
+            dto.setVenueName(eventDto.getVenue().getName());
+            dto.setVenueAddress(eventDto.getVenue().getAddress());
+            dto.setVenueCity(eventDto.getVenue().getCity());
+            dto.setVenueState(eventDto.getVenue().getState());
+            dto.setVenueCountry(eventDto.getVenue().getCountry());
+            dto.setTicketType(ticket.getTicketType());
+            dto.setBookingStatus(booking.getBookingStatus());
+            dto.setBookingDateTime(booking.getBookingDate());
+            dto.setUserEmail(currentUser.getEmail());
+            dto.setUserFirstname(currentUser.getFirstName());
+            dto.setUserLastname(currentUser.getLastName());
+            result.add(dto);
+        }
+        return result;
+    }
+}
@@ -1,43 +1,93 @@
 package org.example.apigateway.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.apigateway.dto.*;
+import org.example.apigateway.service.BookingHistoryService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.reactive.server.WebTestClient;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static org.mockito.ArgumentMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@WebFluxTest(ApiGatewayController.class)
+@WebFluxTest(controllers = ApiGatewayController.class, properties = "booking-history.timeout=500ms")
+@Import({BookingHistoryService.class, ApiGatewayControllerTest.GatewayStub.class})
 class ApiGatewayControllerTest {
 
+    /**
+     * Answers the gateway's own downstream calls by path, so the tests see exactly which requests were made.
+     */
+    @TestConfiguration
+    static class GatewayStub {
+        static final Map<String, Mono<ClientResponse>> RESPONSES = new ConcurrentHashMap<>();
+        static final List<ClientRequest> REQUESTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Bean
+        WebClient gatewayWebClient() {
+            return WebClient.builder()
+                    .baseUrl("http://gateway/api")
+                    .exchangeFunction(request -> {
+                        REQUESTS.add(request);
+                        return RESPONSES.getOrDefault(request.url().getPath(),
+                                Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+                    })
+                    .build();
+        }
+    }
+
     @Autowired
     private WebTestClient webTestClient;
 
-    @MockBean
-    private RestTemplate restTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void resetStub() {
+        GatewayStub.RESPONSES.clear();
+        GatewayStub.REQUESTS.clear();
+    }
+
+    private void respond(final String path, final Object body) {
+        GatewayStub.RESPONSES.put("/api" + path, Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(write(body))
+                .build()));
+    }
+
+    private String write(final Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
     @Test
     @DisplayName("Should return empty booking history if no bookings exist")
     void testGetBookingHistoryEmpty() {
-        Mockito.when(restTemplate.exchange(
-                contains("/bookings/current-user"), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class))
-        ).thenReturn(ResponseEntity.ok(Collections.emptyList()));
+        respond("/bookings/current-user", List.of());
 
         webTestClient.get().uri("/my-account/booking-history")
                 .header(HttpHeaders.AUTHORIZATION, "Bearer test-token")
@@ -45,6 +95,7 @@ class ApiGatewayControllerTest {
                 .expectStatus().isOk()
                 .expectHeader().contentType(MediaType.APPLICATION_JSON)
                 .expectBody().json("[]");
+        assertEquals(1, GatewayStub.REQUESTS.size());
     }
 
     @Test
@@ -91,21 +142,10 @@ class ApiGatewayControllerTest {
         booking.setEventId(eventId);
         booking.setUserId(userId);
 
-        Mockito.when(restTemplate.exchange(
-                contains("/bookings/current-user"), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class))
-        ).thenReturn(ResponseEntity.ok(List.of(booking)));
-
-        Mockito.when(restTemplate.exchange(
-                contains("/events?ids="), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class))
-        ).thenReturn(ResponseEntity.ok(List.of(event)));
-
-        Mockito.when(restTemplate.exchange(
-                contains("/users/current-user"), eq(HttpMethod.GET), any(), eq(UserResponseDto.class))
-        ).thenReturn(ResponseEntity.ok(user));
-
-        Mockito.when(restTemplate.exchange(
-                contains("/events/" + eventId + "/tickets/" + ticketId), eq(HttpMethod.GET), any(), eq(EventResponseDto.TicketResponseDto.class))
-        ).thenReturn(ResponseEntity.ok(ticket));
+        respond("/bookings/current-user", List.of(booking));
+        respond("/events", List.of(event));
+        respond("/events/tickets:batchGet", List.of(ticket));
+        respond("/users/current-user", user);
 
         webTestClient.get().uri("/my-account/booking-history")
                 .header(HttpHeaders.AUTHORIZATION, "Bearer test-token")
@@ -116,18 +156,33 @@ class ApiGatewayControllerTest {
                 .jsonPath("$[0].eventName").isEqualTo("Test Event")
                 .jsonPath("$[0].userEmail").isEqualTo("test@example.com")
                 .jsonPath("$[0].ticketType").isEqualTo("VIP");
+        assertEquals(4, GatewayStub.REQUESTS.size());
+        assertTrue(GatewayStub.REQUESTS.stream().allMatch(request ->
+                "Bearer test-token".equals(request.headers().getFirst(HttpHeaders.AUTHORIZATION))));
+        assertTrue(GatewayStub.REQUESTS.stream().anyMatch(request ->
+                ("ids=" + eventId).equals(request.url().getQuery())));
     }
 
     @Test
     @DisplayName("Should handle error from booking service gracefully")
     void testGetBookingHistoryBookingServiceError() {
-        Mockito.when(restTemplate.exchange(
-                anyString(), any(), any(), any(ParameterizedTypeReference.class))
-        ).thenThrow(new RuntimeException("Booking service error"));
+        GatewayStub.RESPONSES.put("/api/bookings/current-user",
+                Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()));
 
         webTestClient.get().uri("/my-account/booking-history")
                 .header(HttpHeaders.AUTHORIZATION, "Bearer test-token")
                 .exchange()
                 .expectStatus().is5xxServerError();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should answer 504 when the history misses its latency budget")
+    void testGetBookingHistoryTimeout() {
+        GatewayStub.RESPONSES.put("/api/bookings/current-user", Mono.never());
+
+        webTestClient.get().uri("/my-account/booking-history")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer test-token")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+}
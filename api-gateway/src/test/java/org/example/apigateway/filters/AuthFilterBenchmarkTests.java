@@ -0,0 +1,118 @@
+package org.example.apigateway.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Run with {@code -Dbenchmark=true} to print the time {@link AuthGlobalFilter} adds to a request when auth-service
+ * (a local stub answering immediately) is asked about every new token, when the token is already cached, and when
+ * the token is verified in the gateway. Each mode is warmed up on its own tokens first. On a laptop this printed
+ * 1,473, 103 and 128 us, of which roughly 100 us is building and filtering the mock exchange itself.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AuthFilterBenchmarkTests {
+    private static final String SECRET = "4A5B3A135F7782A8A4ABBD853FE35C3F1D4E6789A0BCDEF123456789ABCDEF0";
+    private static final int REQUESTS = 5000;
+    private static final AtomicInteger INTROSPECTIONS = new AtomicInteger();
+    private static final HttpServer AUTH_STUB = startAuthStub();
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    @AfterAll
+    static void stopStub() {
+        AUTH_STUB.stop(0);
+    }
+
+    @Test
+    void benchmarkVerificationModes() {
+        WebClient authWebClient = WebClient.create("http://localhost:" + AUTH_STUB.getAddress().getPort());
+        TokenIntrospectionCache cache = new TokenIntrospectionCache(Duration.ofMinutes(5), REQUESTS * 4,
+                new ObjectMapper(), new SimpleMeterRegistry());
+        AuthGlobalFilter remote = new AuthGlobalFilter(authWebClient, cache, Optional.empty());
+        AuthGlobalFilter local = new AuthGlobalFilter(authWebClient, cache, Optional.of(
+                new LocalTokenVerifier(SECRET, new TokenRevocationList(Duration.ofMinutes(30)))));
+
+        String[] tokens = new String[REQUESTS * 4];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = token(i);
+        }
+        String cached = tokens[0];
+
+        for (boolean warmUp : new boolean[] {true, false}) {
+            int offset = warmUp ? 0 : REQUESTS * 2;
+            measure("remote, new token", remote, i -> tokens[offset + i], warmUp);
+            measure("remote, cached token", remote, i -> cached, warmUp);
+            measure("local", local, i -> tokens[offset + REQUESTS + i], warmUp);
+        }
+        assertEquals(REQUESTS * 2, INTROSPECTIONS.get());
+    }
+
+    private static void measure(final String mode, final AuthGlobalFilter filter, final IntFunction<String> token,
+                                final boolean warmUp) {
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/bookings")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token.apply(i))), CHAIN).block();
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        if (!warmUp) {
+            System.out.printf("%s: %d us per request%n", mode, micros / REQUESTS);
+        }
+    }
+
+    private static String token(final int user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject("user" + user + "@example.com")
+                .claim("userId", String.valueOf(user))
+                .claim("role", "USER")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(1800)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+
+    private static HttpServer startAuthStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 100);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/api/auth/me", exchange -> {
+                INTROSPECTIONS.incrementAndGet();
+                exchange.getResponseHeaders().add("X-User-Id", "1");
+                exchange.getResponseHeaders().add("X-User-Roles", "USER");
+                exchange.getResponseHeaders().add("X-User-Email", "user@example.com");
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.apigateway.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuthGlobalFilterTest {
+    private static final String SECRET = "4A5B3A135F7782A8A4ABBD853FE35C3F1D4E6789A0BCDEF123456789ABCDEF0";
+
+    private final AtomicInteger introspections = new AtomicInteger();
+    private final List<ServerWebExchange> forwarded = new CopyOnWriteArrayList<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.add(exchange);
+        return Mono.empty();
+    };
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpStatus authStatus = HttpStatus.OK;
+
+    private final WebClient authWebClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                introspections.incrementAndGet();
+                return Mono.delay(Duration.ofMillis(50)).thenReturn(ClientResponse.create(authStatus)
+                        .header("X-User-Id", "42")
+                        .header("X-User-Roles", "USER")
+                        .header("X-User-Email", "user@example.com")
+                        .build());
+            })
+            .build();
+    private final TokenIntrospectionCache cache =
+            new TokenIntrospectionCache(Duration.ofSeconds(30), 1000, new ObjectMapper(), meterRegistry);
+    private final AuthGlobalFilter filter = new AuthGlobalFilter(authWebClient, cache, Optional.empty());
+    private final TokenRevocationList revocationList = new TokenRevocationList(Duration.ofMinutes(30));
+    private final AuthGlobalFilter localFilter = new AuthGlobalFilter(authWebClient, cache,
+            Optional.of(new LocalTokenVerifier(SECRET, revocationList)));
+
+    @Test
+    void asksAuthServiceOncePerToken() {
+        String token = token(Instant.now().plusSeconds(3600));
+
+        filter(token).block();
+        filter(token).block();
+        filter(token(Instant.now().plusSeconds(1800))).block();
+
+        assertEquals(2, introspections.get());
+        assertEquals(3, forwarded.size());
+        forwarded.forEach(exchange -> {
+            HttpHeaders headers = exchange.getRequest().getHeaders();
+            assertEquals("42", headers.getFirst("X-User-Id"));
+            assertEquals("USER", headers.getFirst("X-User-Roles"));
+            assertEquals("user@example.com", headers.getFirst("X-User-Email"));
+        });
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(2, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void concurrentMissesShareOneIntrospection() {
+        String token = token(Instant.now().plusSeconds(3600));
+
+        Flux.range(0, 20).flatMap(i -> filter(token)).blockLast();
+
+        assertEquals(1, introspections.get());
+        assertEquals(20, forwarded.size());
+    }
+
+    @Test
+    void rejectedTokensAreNotCached() {
+        authStatus = HttpStatus.UNAUTHORIZED;
+        String token = token(Instant.now().plusSeconds(3600));
+
+        MockServerWebExchange first = exchange(token);
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = exchange(token);
+        filter.filter(second, chain).block();
+
+        assertEquals(2, introspections.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, first.getResponse().getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, second.getResponse().getStatusCode());
+        assertEquals(0, forwarded.size());
+    }
+
+    @Test
+    void entriesExpireWithTheToken() throws InterruptedException {
+        String token = token(Instant.now().plusSeconds(1));
+
+        filter(token).block();
+        Thread.sleep(1100);
+        filter(token).block();
+
+        assertEquals(2, introspections.get());
+    }
+
+    @Test
+    void localModeReadsTheCallerFromTheToken() {
+        localFilter.filter(exchange(signedToken(Instant.now(), true)), chain).block();
+
+        assertEquals(0, introspections.get());
+        HttpHeaders headers = forwarded.get(0).getRequest().getHeaders();
+        assertEquals("7", headers.getFirst("X-User-Id"));
+        assertEquals("ADMIN", headers.getFirst("X-User-Roles"));
+        assertEquals("admin@example.com", headers.getFirst("X-User-Email"));
+    }
+
+    @Test
+    void localModeAsksAuthServiceAboutTokensWithoutClaims() {
+        localFilter.filter(exchange(signedToken(Instant.now(), false)), chain).block();
+
+        assertEquals(1, introspections.get());
+        assertEquals("42", forwarded.get(0).getRequest().getHeaders().getFirst("X-User-Id"));
+    }
+
+    @Test
+    void localModeRejectsForgedAndRevokedTokens() {
+        String valid = signedToken(Instant.now().minusSeconds(60), true);
+        String forged = valid.substring(0, valid.lastIndexOf('.') + 1) + "c2lnbmF0dXJl";
+        revocationList.revoke("7", Instant.now().minusSeconds(30));
+
+        MockServerWebExchange forgedExchange = exchange(forged);
+        localFilter.filter(forgedExchange, chain).block();
+        MockServerWebExchange revokedExchange = exchange(valid);
+        localFilter.filter(revokedExchange, chain).block();
+        localFilter.filter(exchange(signedToken(Instant.now(), true)), chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, forgedExchange.getResponse().getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, revokedExchange.getResponse().getStatusCode());
+        assertEquals(1, forwarded.size());
+        assertEquals(0, introspections.get());
+    }
+
+    @Test
+    void localModeAcceptsALoginRightAfterLogout() {
+        Instant loggedOut = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusMillis(900);
+        revocationList.revoke("7", loggedOut);
+
+        MockServerWebExchange login = exchange(signedToken(loggedOut.plusMillis(50), true));
+        localFilter.filter(login, chain).block();
+
+        assertEquals(1, forwarded.size());
+        assertEquals(null, login.getResponse().getStatusCode());
+    }
+
+    private Mono<Void> filter(final String token) {
+        return filter.filter(exchange(token), chain);
+    }
+
+    private static MockServerWebExchange exchange(final String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/bookings")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private static String signedToken(final Instant issuedAt, final boolean withUserClaims) {
+        var builder = Jwts.builder()
+                .subject("admin@example.com")
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plusSeconds(1800)));
+        if (withUserClaims) {
+            builder.claim("userId", "7").claim("role", "ADMIN");
+        }
+        return builder.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).compact();
+    }
+
+    private static String token(final Instant expiresAt) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = "{\"sub\":\"user@example.com\",\"exp\":" + expiresAt.getEpochSecond() + "}";
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+}
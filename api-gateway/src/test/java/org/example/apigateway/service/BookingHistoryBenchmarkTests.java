@@ -0,0 +1,146 @@
+package org.example.apigateway.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.example.apigateway.dto.BookingResponseDto;
+import org.example.apigateway.dto.EventResponseDto;
+import org.example.apigateway.dto.UserResponseDto;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Run with {@code -Dbenchmark=true} to print how long the booking history takes for 1, 50 and 500 bookings spread
+ * over at most {@value #EVENTS} events, when every downstream call answers after {@value #DELAY_MS} ms. Before the
+ * history was fanned out, the same stub took 292, 3,618 and 32,662 ms for one RestTemplate call per booking.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BookingHistoryBenchmarkTests {
+    private static final int EVENTS = 50;
+    private static final long DELAY_MS = 20;
+    private static final int RUNS = 5;
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+    private static final HttpServer GATEWAY_STUB = startGatewayStub();
+
+    private static volatile List<BookingResponseDto> bookings = List.of();
+    private static volatile Map<UUID, EventResponseDto> events = Map.of();
+    private static volatile Map<UUID, EventResponseDto.TicketResponseDto> tickets = Map.of();
+
+    @AfterAll
+    static void stopStub() {
+        GATEWAY_STUB.stop(0);
+    }
+
+    @Test
+    void benchmarkBookingHistory() {
+        BookingHistoryService service = new BookingHistoryService(WebClient.builder()
+                .baseUrl("http://localhost:" + GATEWAY_STUB.getAddress().getPort() + "/api")
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+                .build(), Duration.ofSeconds(30), 4, 100, 1000);
+
+        for (int size : new int[] {1, 50, 500}) {
+            seed(size);
+            assertEquals(size, service.getBookingHistory("Bearer benchmark").block().size());
+            REQUESTS.set(0);
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                service.getBookingHistory("Bearer benchmark").block();
+                millis[run] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%d bookings: median %d ms, %d downstream requests%n", size, millis[RUNS / 2],
+                    REQUESTS.get() / RUNS);
+        }
+    }
+
+    private static void seed(final int size) {
+        List<BookingResponseDto> seededBookings = new ArrayList<>(size);
+        Map<UUID, EventResponseDto> seededEvents = new LinkedHashMap<>();
+        Map<UUID, EventResponseDto.TicketResponseDto> seededTickets = new LinkedHashMap<>();
+        List<EventResponseDto> eventList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (eventList.size() < EVENTS) {
+                EventResponseDto event = new EventResponseDto();
+                event.setId(UUID.randomUUID());
+                event.setName("Event " + i);
+                event.setVenue(new EventResponseDto.VenueDto());
+                eventList.add(event);
+                seededEvents.put(event.getId(), event);
+            }
+            EventResponseDto event = eventList.get(i % EVENTS);
+            EventResponseDto.TicketResponseDto ticket = new EventResponseDto.TicketResponseDto();
+            ticket.setTicketId(UUID.randomUUID());
+            ticket.setTicketType("VIP");
+            seededTickets.put(ticket.getTicketId(), ticket);
+
+            BookingResponseDto booking = new BookingResponseDto();
+            booking.setId(UUID.randomUUID());
+            booking.setEventId(event.getId());
+            booking.setTicketId(ticket.getTicketId());
+            booking.setBookingDate(LocalDateTime.now());
+            seededBookings.add(booking);
+        }
+        bookings = seededBookings;
+        events = seededEvents;
+        tickets = seededTickets;
+    }
+
+    private static HttpServer startGatewayStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 100);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/api/", exchange -> {
+                REQUESTS.incrementAndGet();
+                String path = exchange.getRequestURI().getPath();
+                Object body;
+                if (path.endsWith("/bookings/current-user")) {
+                    body = bookings;
+                } else if (path.endsWith("/users/current-user")) {
+                    body = new UserResponseDto();
+                } else if (path.endsWith("/tickets:batchGet")) {
+                    List<UUID> ticketIds = Arrays.asList(MAPPER.readValue(exchange.getRequestBody(), UUID[].class));
+                    body = ticketIds.stream().map(tickets::get).toList();
+                } else {
+                    String ids = exchange.getRequestURI().getQuery().replaceAll(".*ids=([^&]*).*", "$1");
+                    body = Arrays.stream(ids.split(",")).map(id -> events.get(UUID.fromString(id))).toList();
+                }
+                byte[] response = MAPPER.writeValueAsBytes(body);
+                try {
+                    Thread.sleep(DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package org.example.authservice.config;
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.example.authservice.service.JwtService;
+import org.example.authservice.service.AccessTokenVerifier;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,7 +20,7 @@ import java.io.IOException;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JwtService jwtService;
+    private final AccessTokenVerifier accessTokenVerifier;
     private final UserDetailsService userDetailsService;
 
     @SuppressWarnings("checkstyle:MagicNumber")
@@ -37,12 +36,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         jwt = authHeader.substring(7);
-        Claims claims = jwtService.validateAccessToken(jwt);
-        String email = jwtService.extractEmail(claims);
+        AccessTokenVerifier.VerifiedToken token = accessTokenVerifier.verify(jwt);
+        String email = token.email();
         if (email != null
                 && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-            if (this.jwtService.isTokenValid(jwt, userDetails.getUsername())) {
+            if (token.isValidFor(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
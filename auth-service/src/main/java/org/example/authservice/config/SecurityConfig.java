@@ -1,8 +1,13 @@
 package org.example.authservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.example.commonlibrary.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.example.authservice.repository.AuthUserRepository;
+import org.example.authservice.service.AuthUserCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,24 +20,29 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
     @Bean
-    public org.springframework.security.core.userdetails.UserDetailsService userDetailsService(final AuthUserRepository
-                                                                                                           repository) {
+    public org.springframework.security.core.userdetails.UserDetailsService userDetailsService(
+            final AuthUserRepository repository, final AuthUserCache cache) {
         return new org.springframework.security.core.userdetails.UserDetailsService() {
             @Override
             public UserDetails loadUserByUsername(final String email) {
-                return repository.findByEmail(email)
-                        .orElseThrow(() -> new NotFoundException("User not found"));
+                return cache.get(email, () -> repository.findByEmail(email)
+                        .orElseThrow(() -> new NotFoundException("User not found")));
             }
         };
     }
@@ -78,17 +88,36 @@ public class SecurityConfig {
     @Bean
     public AuthenticationManager authenticationManager(
             final org.springframework.security.core.userdetails.UserDetailsService userDetailsService,
-            final PasswordEncoder passwordEncoder) {
+            final PasswordEncoder passwordEncoder,
+            final ObjectProvider<UserDetailsPasswordService> userDetailsPasswordService) {
         DaoAuthenticationProvider authenticationProvider =
                 new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService);
         authenticationProvider.setPasswordEncoder(passwordEncoder);
+        userDetailsPasswordService.ifAvailable(authenticationProvider::setUserDetailsPasswordService);
 
         return new ProviderManager(authenticationProvider);
     }
 
+    /**
+     * Hashes new passwords as {@code {bcrypt}} at {@code auth.password.bcrypt-strength}, or at the strength calibrated
+     * to {@code auth.password.hash-latency-target} when that is set. Hashes without an id prefix, as stored before,
+     * are matched as BCrypt and upgraded on the next login.
+     */
     @Bean
-    public static PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password.bcrypt-strength:10}") final int bcryptStrength,
+            @Value("${auth.password.hash-latency-target:#{null}}") final Duration hashLatencyTarget,
+            @Value("${auth.password-hashing.threads:0}") final int threads,
+            @Value("${auth.password-hashing.queue-capacity:64}") final int queueCapacity,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(hashLatencyTarget == null
+                ? bcryptStrength
+                : BoundedPasswordEncoder.calibrateBcryptStrength(hashLatencyTarget));
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(delegating,
+                threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                queueCapacity, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 }
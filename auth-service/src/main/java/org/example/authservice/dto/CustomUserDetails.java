@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.example.authservice.model.AuthUser;
+import org.example.authservice.model.ROLE;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -30,11 +32,31 @@ public class CustomUserDetails implements UserDetails {
     @JsonDeserialize(contentAs = CustomGrantedAuthority.class)
     private Set<GrantedAuthority> authorities;
 
+    private ROLE role;
+
     private final boolean accountNonExpired;
     private final boolean accountNonLocked;
     private final boolean credentialsNonExpired;
     private final boolean enabled;
 
+    /**
+     * Copies what authentication needs out of {@code user}, so the result can outlive the persistence context the
+     * entity was loaded in.
+     */
+    public static CustomUserDetails of(final AuthUser user) {
+        return CustomUserDetails.builder()
+                .username(user.getEmail())
+                .id(user.getId())
+                .password(user.getPassword())
+                .authorities(Set.copyOf(user.getAuthorities()))
+                .role(user.getRole())
+                .accountNonExpired(user.isAccountNonExpired())
+                .accountNonLocked(user.isAccountNonLocked())
+                .credentialsNonExpired(user.isCredentialsNonExpired())
+                .enabled(user.isEnabled())
+                .build();
+    }
+
     public int hashCode() {
         return this.username.hashCode();
     }
@@ -0,0 +1,77 @@
+package org.example.authservice.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.example.commonlibrary.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Owns the access token signing key and the parser built on it, both created once from {@code jwt.token.secret}.
+ * A token is parsed and its signature checked exactly once, into a {@link VerifiedToken} callers can read as often
+ * as they need.
+ */
+@Component
+public class AccessTokenVerifier {
+
+    /**
+     * The claims of an access token whose signature has been checked.
+     */
+    public record VerifiedToken(String email, String userId, String role, Instant issuedAt, Instant expiresAt) {
+
+        public boolean isExpired() {
+            return expiresAt != null && expiresAt.isBefore(Instant.now());
+        }
+
+        public boolean isValidFor(final String username) {
+            return email != null && email.equals(username) && !isExpired();
+        }
+    }
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public AccessTokenVerifier(@Value("${jwt.token.secret}") final String secret) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    public SecretKey signingKey() {
+        return signingKey;
+    }
+
+    /**
+     * @throws ValidationException if the token is malformed, forged or expired
+     */
+    public Claims claims(final String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException e) {
+            throw new ValidationException(e.getMessage());
+        }
+    }
+
+    /**
+     * @throws ValidationException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(final String token) {
+        Claims claims = claims(token);
+        return new VerifiedToken(claims.getSubject(), claims.get(JwtService.USER_ID_CLAIM, String.class),
+                claims.get(JwtService.ROLE_CLAIM, String.class), toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()));
+    }
+
+    private static Instant toInstant(final Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
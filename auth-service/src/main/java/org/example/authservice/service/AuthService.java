@@ -3,6 +3,7 @@ package org.example.authservice.service;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.authservice.dto.CustomUserDetails;
 import org.example.authservice.dto.LoginRequest;
 import org.example.authservice.dto.LoginResponse;
 import org.example.authservice.dto.SignupRequest;
@@ -12,6 +13,8 @@ import org.example.authservice.model.AuthUser;
 import org.example.authservice.model.ROLE;
 import org.example.authservice.repository.AuthUserRepository;
 import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.message.UserCreatedMessage;
+import org.example.commonlibrary.kafka.message.UserTokensRevokedMessage;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -19,9 +22,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 
 
 @RequiredArgsConstructor
@@ -32,6 +35,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
     private final MessageProducer messageProducer;
+    private final AuthUserCache authUserCache;
 
     private final String[] roles = {
             ROLE.ADMIN.toString(),
@@ -51,7 +55,9 @@ public class AuthService {
                 this.authenticationManager.authenticate(authenticationRequest);
 
         SecurityContextHolder.getContext().setAuthentication(authenticationResponse);
-        String accessToken = tokenService.generateToken(loginRequest.getEmail());
+        String accessToken = authenticationResponse.getPrincipal() instanceof CustomUserDetails user
+                ? tokenService.generateToken(user)
+                : tokenService.generateToken(loginRequest.getEmail());
         String refreshToken = tokenService.generateRefreshToken(loginRequest.getEmail());
         return new LoginResponse(accessToken, refreshToken);
     }
@@ -68,7 +74,7 @@ public class AuthService {
         }
 
         if (signupRequest.getRole().equals("ADMIN")) {
-            AuthUser currentUser = getCurrentUserDetails();
+            CustomUserDetails currentUser = getCurrentUserDetails();
             if (!currentUser.getRole().equals(ROLE.ADMIN)) {
                 throw new InvalidActionException("Only admin can register another admin.");
             }
@@ -84,14 +90,14 @@ public class AuthService {
 
         AuthUser savedUser = authUserRepository.save(user);
 
-        messageProducer.sendMessage("user-created", new HashMap<>(Map.of(
-                "id", savedUser.getId().toString(),
-                "email", user.getEmail(),
-                "firstname", signupRequest.getFirstname(),
-                "lastname", signupRequest.getLastname(),
-                "dateOfBirth", signupRequest.getDateOfBirth().toString(),
-                "gender", signupRequest.getGender()
-        )));
+        messageProducer.sendMessage("user-created", new UserCreatedMessage(
+                savedUser.getId(),
+                user.getEmail(),
+                signupRequest.getFirstname(),
+                signupRequest.getLastname(),
+                signupRequest.getDateOfBirth(),
+                signupRequest.getGender()
+        ));
     }
 
     private String getCookieValue(final HttpServletRequest request, final String cookieName) {
@@ -111,7 +117,11 @@ public class AuthService {
         checkNotNullAccessDeniedException(accessToken,
                 "Access token cannot be found.");
         tokenService.removeAccessTokenFromCookie(response);
-        tokenService.removeRefreshTokenFromCookieAndExpire(response, accessToken);
+        AuthUser user = tokenService.removeRefreshTokenFromCookieAndExpire(response, accessToken);
+        authUserCache.evict(user.getEmail());
+        // Access tokens carry their issue time in whole seconds, so only tokens issued before this second are revoked
+        messageProducer.sendMessage("tokens-revoked", new UserTokensRevokedMessage(user.getId(),
+                Instant.now().truncatedTo(ChronoUnit.SECONDS)));
     }
 
     public String refreshToken(final HttpServletRequest request,
@@ -132,7 +142,7 @@ public class AuthService {
 
     public void addUserDetailsInHeader(
             final HttpServletResponse response) {
-        AuthUser userDetails = getCurrentUserDetails();
+        CustomUserDetails userDetails = getCurrentUserDetails();
         String email = userDetails.getUsername();
         StringBuilder roles = new StringBuilder();
         userDetails.getAuthorities().forEach((authority) -> {
@@ -155,12 +165,12 @@ public class AuthService {
         response.setHeader("X-User-Id", id);
     }
 
-    public static AuthUser getCurrentUserDetails() {
+    public static CustomUserDetails getCurrentUserDetails() {
         Authentication authentication =
                 SecurityContextHolder.getContext().getAuthentication();
         Object principal = authentication.getPrincipal();
-        if (principal instanceof AuthUser) {
-            return (AuthUser) principal;
+        if (principal instanceof CustomUserDetails) {
+            return (CustomUserDetails) principal;
         } else {
             throw new InvalidActionException(
                     "User details not saved correctly.");
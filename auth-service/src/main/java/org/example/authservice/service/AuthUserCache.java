@@ -0,0 +1,66 @@
+package org.example.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.authservice.dto.CustomUserDetails;
+import org.example.authservice.model.AuthUser;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the users authenticated requests resolve to, keyed by email, so a bearer token does not cost a
+ * {@code findByEmail} per request. Entries are {@link CustomUserDetails} snapshots rather than the entities, so
+ * nothing lazy is touched once the loading session is gone. Entries live for {@code auth.user-cache.ttl}, at most
+ * {@code auth.user-cache.max-size} of them are kept, and a user is evicted when they log out or their row changes.
+ * Hits and misses are published as the {@code cache.*} metrics of {@code auth-users}.
+ */
+@Component
+public class AuthUserCache {
+
+    private static final String CACHE_NAME = "auth-users";
+
+    private final Cache<String, CustomUserDetails> users;
+
+    public AuthUserCache(@Value("${auth.user-cache.ttl:5m}") final Duration ttl,
+                         @Value("${auth.user-cache.max-size:10000}") final long maxSize,
+                         final ObjectProvider<MeterRegistry> meterRegistry) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), users, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached user for {@code email}, or loads and caches a snapshot of it. Nothing is cached if
+     * {@code loader} throws.
+     */
+    public CustomUserDetails get(final String email, final Supplier<AuthUser> loader) {
+        return users.get(email, key -> CustomUserDetails.of(loader.get()));
+    }
+
+    public void evict(final String email) {
+        if (email != null) {
+            users.invalidate(email);
+        }
+    }
+
+    /**
+     * Evicts whatever entry belongs to the user with {@code id}, whichever email it was cached under. This walks the
+     * cache, which is fine for the row updates that call it but not for the request path.
+     */
+    public void evict(final UUID id) {
+        if (id != null) {
+            users.asMap().values().removeIf(user -> id.equals(user.getId()));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.authservice.service;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.authservice.model.AuthUser;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Evicts a user from {@link AuthUserCache} whenever their row is updated or deleted, so a changed role or password
+ * takes effect on the next request rather than after the cache entry expires. Entries are matched by id, as an
+ * update may have changed the email they were cached under. The callbacks run at flush, so the eviction waits for
+ * the commit; evicting earlier would let a concurrent request cache the old row again until the entry expires.
+ */
+@Component
+public class AuthUserCacheInvalidator {
+
+    private final AuthUserCache authUserCache;
+
+    public AuthUserCacheInvalidator(final AuthUserCache authUserCache) {
+        this.authUserCache = authUserCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(final AuthUser user) {
+        UUID id = user.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            authUserCache.evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                authUserCache.evict(id);
+            }
+        });
+    }
+}
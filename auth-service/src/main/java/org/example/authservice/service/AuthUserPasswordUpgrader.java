@@ -0,0 +1,34 @@
+package org.example.authservice.service;
+
+import org.example.authservice.dto.CustomUserDetails;
+import org.example.authservice.repository.AuthUserRepository;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores the new hash Spring Security computes on a successful login when the stored one was made with another
+ * encoder or a lower BCrypt strength than currently configured, so existing users move to the current settings as
+ * they sign in.
+ */
+@Component
+public class AuthUserPasswordUpgrader implements UserDetailsPasswordService {
+
+    private final AuthUserRepository authUserRepository;
+
+    public AuthUserPasswordUpgrader(final AuthUserRepository authUserRepository) {
+        this.authUserRepository = authUserRepository;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(final UserDetails user, final String newPassword) {
+        return authUserRepository.findByEmail(user.getUsername())
+                .map(stored -> {
+                    stored.setPassword(newPassword);
+                    return (UserDetails) CustomUserDetails.of(authUserRepository.save(stored));
+                })
+                .orElse(user);
+    }
+}
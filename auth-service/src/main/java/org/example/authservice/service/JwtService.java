@@ -1,15 +1,13 @@
 package org.example.authservice.service;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.example.commonlibrary.ValidationException;
+import org.example.authservice.dto.CustomUserDetails;
 import org.example.authservice.model.AuthUser;
 import org.example.authservice.model.RefreshToken;
 import org.example.authservice.repository.AuthUserRepository;
@@ -18,7 +16,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.WebUtils;
 
-import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.time.temporal.TemporalAmount;
 import java.util.Date;
@@ -27,11 +24,12 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Service
 public class JwtService {
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLE_CLAIM = "role";
+
     private final AuthUserRepository authUserRepository;
     private final TokenRepository refreshTokenRepository;
-
-    @Value("${jwt.token.secret}")
-    private String secret;
+    private final AccessTokenVerifier accessTokenVerifier;
 
     @Value("${jwt.token.expires}")
     private Long jwtExpiresMinutes;
@@ -50,11 +48,22 @@ public class JwtService {
     }
 
     public String generateToken(final String username) {
+        return generateToken(CustomUserDetails.of(authUserRepository.findByEmail(username)
+                .orElseThrow(() -> new ValidationException("User not found"))));
+    }
+
+    /**
+     * Carries the user's id and role as claims, so a holder of the signing key such as the gateway can resolve the
+     * caller from the token alone.
+     */
+    public String generateToken(final CustomUserDetails user) {
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId().toString())
+                .claim(ROLE_CLAIM, user.getRole().name())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiresMinutes * ACCESS_TOKEN_EXPIRATION_TIME))
-                .signWith(getSignInKey())
+                .signWith(accessTokenVerifier.signingKey())
                 .compact();
     }
 
@@ -79,15 +88,7 @@ public class JwtService {
     }
 
     public Claims validateAccessToken(final String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(getSignInKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (JwtException e) {
-            throw new ValidationException(e.getMessage());
-        }
+        return accessTokenVerifier.claims(token);
     }
 
     public String getRefreshTokenFromCookie(final HttpServletRequest request) {
@@ -143,7 +144,7 @@ public class JwtService {
         response.addCookie(cookie);
     }
 
-    public void removeRefreshTokenFromCookieAndExpire(
+    public AuthUser removeRefreshTokenFromCookieAndExpire(
             final HttpServletResponse response, final String token) {
         Claims claims = validateAccessToken(token);
         String userEmail = extractEmail(claims);
@@ -162,6 +163,7 @@ public class JwtService {
         cookie.setPath(REFRESH_TOKEN_COOKIE_PATH);
 
         response.addCookie(cookie);
+        return user;
     }
 
     private void expireRefreshToken(final RefreshToken token) {
@@ -169,21 +171,7 @@ public class JwtService {
         refreshTokenRepository.save(token);
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(this.secret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public boolean isTokenValid(final String token, final String email) {
-        final String tokenEmail = extractEmail(validateAccessToken(token));
-        return (tokenEmail.equals(email)) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(final String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(final String token) {
-        return validateAccessToken(token).getExpiration();
+        return accessTokenVerifier.verify(token).isValidFor(email);
     }
 }
@@ -0,0 +1,70 @@
+package org.example.authservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.commonlibrary.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PasswordEncoder() {
+        @Override
+        public String encode(final CharSequence rawPassword) {
+            hashing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    }, 1, 1, meterRegistry);
+
+    @AfterEach
+    void shutDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void rejectsHashesBeyondTheQueueAtOnce() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.matches("third", "hashed:third"));
+        assertEquals(1, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+        assertTrue(encoder.matches("third", "hashed:third"));
+        assertEquals(2, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void calibratesTheStrengthToTheLatencyTarget() {
+        assertEquals(10, BoundedPasswordEncoder.calibrateBcryptStrength(Duration.ofMillis(1)));
+        assertTrue(BoundedPasswordEncoder.calibrateBcryptStrength(Duration.ofMinutes(1)) > 10);
+    }
+}
@@ -4,7 +4,9 @@ import org.example.authservice.config.SecurityConfig;
 import org.example.authservice.dto.LoginRequest;
 import org.example.authservice.dto.SignupRequest;
 import org.example.authservice.dto.LoginResponse;
+import org.example.authservice.service.AccessTokenVerifier;
 import org.example.authservice.service.AuthService;
+import org.example.authservice.service.AuthUserPasswordUpgrader;
 import org.example.authservice.service.JwtService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -37,6 +39,12 @@ class AuthControllerTest {
     @MockBean
     private JwtService jwtService;
 
+    @MockBean
+    private AccessTokenVerifier accessTokenVerifier;
+
+    @MockBean
+    private AuthUserPasswordUpgrader authUserPasswordUpgrader;
+
     @MockBean
     private UserDetailsService userDetailsService;
 
@@ -0,0 +1,55 @@
+package org.example.authservice.service;
+
+import io.jsonwebtoken.Jwts;
+import org.example.commonlibrary.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessTokenVerifierTest {
+    private static final String SECRET = "4A5B3A135F7782A8A4ABBD853FE35C3F1D4E6789A0BCDEF123456789ABCDEF0";
+
+    private final AccessTokenVerifier verifier = new AccessTokenVerifier(SECRET);
+
+    @Test
+    void readsEveryClaimFromOneParse() {
+        Instant issuedAt = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+        String token = Jwts.builder()
+                .subject("user@example.com")
+                .claim(JwtService.USER_ID_CLAIM, "7")
+                .claim(JwtService.ROLE_CLAIM, "ADMIN")
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plusSeconds(1800)))
+                .signWith(verifier.signingKey())
+                .compact();
+
+        AccessTokenVerifier.VerifiedToken verified = verifier.verify(token);
+
+        assertEquals(new AccessTokenVerifier.VerifiedToken("user@example.com", "7", "ADMIN", issuedAt,
+                issuedAt.plusSeconds(1800)), verified);
+        assertTrue(verified.isValidFor("user@example.com"));
+        assertFalse(verified.isValidFor("other@example.com"));
+    }
+
+    @Test
+    void rejectsForgedAndExpiredTokens() {
+        String forged = Jwts.builder()
+                .subject("user@example.com")
+                .signWith(new AccessTokenVerifier(SECRET.replace('A', 'B')).signingKey())
+                .compact();
+        String expired = Jwts.builder()
+                .subject("user@example.com")
+                .expiration(Date.from(Instant.now().minusSeconds(60)))
+                .signWith(verifier.signingKey())
+                .compact();
+
+        assertThrows(ValidationException.class, () -> verifier.verify(forged));
+        assertThrows(ValidationException.class, () -> verifier.verify(expired));
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.authservice.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.Cookie;
 import org.example.authservice.repository.AuthUserRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -9,16 +10,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.example.authservice.model.AuthUser;
 import org.example.authservice.model.ROLE;
 import org.example.authservice.dto.SignupRequest;
 import org.example.authservice.dto.LoginRequest;
+import org.example.authservice.dto.CustomUserDetails;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +41,12 @@ public class AuthServiceApplicationTests {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private AuthUserCache authUserCache;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @BeforeEach
     void setUp() {
@@ -181,4 +195,128 @@ public class AuthServiceApplicationTests {
                 .andExpect(status().isOk())
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("refreshed tokens successfully")));
     }
+
+    @Test
+    void testCurrentUserIsServedFromTheUserCache() throws Exception {
+        authUserRepository.save(AuthUser.builder()
+                .email("cached@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .role(ROLE.USER)
+                .build());
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("cached@example.com");
+        loginRequest.setPassword("password123");
+        String authHeader = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Authorization");
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/auth/me").header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-User-Roles", "USER"));
+        }
+        assertThat(cacheGets("hit") - hits).isEqualTo(3);
+        assertThat(cacheGets("miss") - misses).isZero();
+
+        AuthUser user = authUserRepository.findByEmail("cached@example.com").orElseThrow();
+        user.setRole(ROLE.ORGANIZER);
+        authUserRepository.save(user);
+        mockMvc.perform(get("/auth/me").header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-User-Roles", "ORGANIZER"));
+        assertThat(cacheGets("miss") - misses).isEqualTo(1);
+    }
+
+    @Test
+    void testChangingAUsersEmailEvictsTheEntryCachedUnderTheOldOne() throws Exception {
+        authUserRepository.save(AuthUser.builder()
+                .email("before@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .role(ROLE.USER)
+                .build());
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("before@example.com");
+        loginRequest.setPassword("password123");
+        String authHeader = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Authorization");
+        mockMvc.perform(get("/auth/me").header("Authorization", authHeader))
+                .andExpect(status().isOk());
+        CustomUserDetails cached = authUserCache.get("before@example.com", () -> {
+            throw new AssertionError("user should be cached");
+        });
+        assertThat(cached.getRole()).isEqualTo(ROLE.USER);
+
+        AuthUser user = authUserRepository.findByEmail("before@example.com").orElseThrow();
+        user.setEmail("after@example.com");
+        authUserRepository.save(user);
+
+        AtomicBoolean reloaded = new AtomicBoolean();
+        authUserCache.get("before@example.com", () -> {
+            reloaded.set(true);
+            return user;
+        });
+        assertThat(reloaded).isTrue();
+        authUserCache.evict("before@example.com");
+    }
+
+    @Test
+    void testUserCachedBeforeTheUpdateCommitsIsEvictedOnCommit() {
+        AuthUser saved = authUserRepository.save(AuthUser.builder()
+                .email("racing@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .role(ROLE.USER)
+                .build());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            AuthUser user = authUserRepository.findByEmail("racing@example.com").orElseThrow();
+            user.setRole(ROLE.ORGANIZER);
+            authUserRepository.saveAndFlush(user);
+            // a concurrent request still reads the committed row and caches it
+            authUserCache.get("racing@example.com", () -> AuthUser.builder()
+                    .id(saved.getId()).email(saved.getEmail()).password(saved.getPassword()).role(ROLE.USER)
+                    .build());
+        });
+
+        AtomicBoolean reloaded = new AtomicBoolean();
+        CustomUserDetails cached = authUserCache.get("racing@example.com", () -> {
+            reloaded.set(true);
+            return authUserRepository.findByEmail("racing@example.com").orElseThrow();
+        });
+        assertThat(reloaded).isTrue();
+        assertThat(cached.getRole()).isEqualTo(ROLE.ORGANIZER);
+        authUserCache.evict("racing@example.com");
+    }
+
+    private double cacheGets(final String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "auth-users").tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    void testLoginUpgradesLegacyPasswordHashes() throws Exception {
+        authUserRepository.save(AuthUser.builder()
+                .email("legacy@example.com")
+                .password(new BCryptPasswordEncoder(4).encode("password123"))
+                .role(ROLE.USER)
+                .build());
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("legacy@example.com");
+        loginRequest.setPassword("password123");
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        String upgraded = authUserRepository.findByEmail("legacy@example.com").orElseThrow().getPassword();
+        assertThat(upgraded).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches("password123", upgraded)).isTrue();
+    }
 }
@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(
         exclude = {
@@ -16,6 +17,7 @@ import org.springframework.context.annotation.ComponentScan;
         "org.example.commonlibrary"
 })
 @EnableCaching
+@EnableScheduling
 public class BookingServiceApplication {
     public static void main(final String[] args) {
         SpringApplication.run(BookingServiceApplication.class, args);
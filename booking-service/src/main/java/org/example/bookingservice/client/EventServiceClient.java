@@ -0,0 +1,40 @@
+package org.example.bookingservice.client;
+
+import org.example.bookingservice.dto.TicketDto;
+import org.example.commonlibrary.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Calls event-service directly rather than through the api-gateway, so a lookup is a single pooled HTTP hop
+ * with no token validation. Client errors, such as an unknown ticket or one of another event, mean there is no such
+ * ticket; server errors and timeouts surface as {@link ServiceUnavailableException}.
+ */
+@Component
+public class EventServiceClient {
+    private final RestTemplate restTemplate;
+    private final String eventServiceUrl;
+
+    public EventServiceClient(final RestTemplate restTemplate,
+                              @Value("${event-service.url}") final String eventServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.eventServiceUrl = eventServiceUrl;
+    }
+
+    public Optional<TicketDto> getTicket(final UUID eventId, final UUID ticketId) {
+        try {
+            return Optional.ofNullable(restTemplate.getForObject(
+                    eventServiceUrl + "/events/{eventId}/tickets/{ticketId}", TicketDto.class, eventId, ticketId));
+        } catch (HttpClientErrorException e) {
+            return Optional.empty();
+        } catch (RestClientException e) {
+            throw new ServiceUnavailableException("Event service is unavailable, please try again later");
+        }
+    }
+}
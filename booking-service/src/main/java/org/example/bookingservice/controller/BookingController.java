@@ -6,7 +6,6 @@ import lombok.RequiredArgsConstructor;
 import org.example.bookingservice.dto.BookingRequestDto;
 import org.example.bookingservice.dto.BookingResponseDto;
 import org.example.bookingservice.service.BookingService;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,10 +31,8 @@ public class BookingController {
             description = "Creates a new booking record based on the provided request data.")
     @PostMapping
     public ResponseEntity<BookingResponseDto> createBooking(@RequestBody final BookingRequestDto bookingRequestDto,
-                                                            @RequestHeader("X-User-Id") final UUID userId,
-                                                            @RequestHeader(HttpHeaders.AUTHORIZATION)
-                                                                final String authorization) {
-        BookingResponseDto created = bookingService.createBooking(bookingRequestDto, userId, authorization);
+                                                            @RequestHeader("X-User-Id") final UUID userId) {
+        BookingResponseDto created = bookingService.createBooking(bookingRequestDto, userId);
         return ResponseEntity.ok(created);
     }
 
@@ -0,0 +1,17 @@
+package org.example.bookingservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketDto {
+    private UUID ticketId;
+    private String ticketStatus;
+    private LocalDateTime expirationDate;
+}
@@ -1,49 +1,101 @@
 package org.example.bookingservice.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.bookingservice.model.BookingStatus;
 import org.example.bookingservice.service.BookingService;
 import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.message.BookingStatusMessage;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RequiredArgsConstructor
 @Component
 public class MessageConsumer {
+    private static final String DEAD_LETTER_SUFFIX = ".DLT";
+    private static final Map<String, BookingStatus> STATUS_BY_TOPIC = Map.of(
+            "ticket-reserved", BookingStatus.WAITING_FOR_PAYMENT,
+            "booking-failed", BookingStatus.CANCELLED,
+            "payment-success", BookingStatus.CONFIRMED,
+            "booking-rejected", BookingStatus.REJECTED);
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(MessageConsumer.class);
     private final Logger logger = LoggerFactory.getLogger(MessageConsumer.class);
     private final BookingService bookingService;
     private final MessageProducer producer;
 
-    @KafkaListener(topics = "ticket-reserved", groupId = "${spring.kafka.consumer.group-id}")
-    public void updateBookingStatus(final String messageString) throws JsonProcessingException {
-        logger.info("Received message='{}'", messageString);
-        ObjectMapper mapper = new ObjectMapper();
-        HashMap<String, String> messageMap = mapper.readValue(messageString, HashMap.class);
-        bookingService.updateBookingStatus(UUID.fromString(messageMap.get("bookingId")), "WAITING_FOR_PAYMENT");
-        logger.info("Booking status updated to WAITING_FOR_PAYMENT for bookingId={}", messageMap.get("bookingId"));
+    /**
+     * Applies a whole poll of status transitions with one bulk update. When a booking appears more than once in
+     * the poll it moves to the furthest status, and the update only makes transitions the booking's current status
+     * allows, so a late {@code ticket-reserved}, in this poll or a later one, never undoes a confirmation.
+     * Records that could not be decoded, or whose booking still fails to update on its own after the bulk update
+     * failed, are sent to {@code <topic>.DLT} so they do not hold back the rest of the batch.
+     */
+    @KafkaListener(id = "booking-status",
+            topics = {"ticket-reserved", "booking-failed", "payment-success", "booking-rejected"},
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void updateBookingStatuses(final List<ConsumerRecord<String, Object>> records) {
+        Map<UUID, BookingStatus> statuses = new LinkedHashMap<>();
+        Map<UUID, ConsumerRecord<String, Object>> sources = new HashMap<>();
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof BookingStatusMessage message && message.bookingId() != null) {
+                statuses.merge(message.bookingId(), STATUS_BY_TOPIC.get(record.topic()),
+                        (current, next) -> next.ordinal() > current.ordinal() ? next : current);
+                sources.put(message.bookingId(), record);
+            } else {
+                deadLetter(record, SerializationUtils.getExceptionFromHeader(record,
+                        SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR));
+            }
+        }
+        if (statuses.isEmpty()) {
+            return;
+        }
+        try {
+            int updated = bookingService.updateBookingStatuses(statuses);
+            logger.info("Updated {} of {} bookings from {} status messages", updated, statuses.size(), records.size());
+        } catch (DataAccessException e) {
+            logger.warn("Bulk status update of {} bookings failed, retrying one by one", statuses.size(), e);
+            statuses.forEach((bookingId, status) -> {
+                try {
+                    bookingService.updateBookingStatuses(Map.of(bookingId, status));
+                } catch (DataAccessException recordFailure) {
+                    deadLetter(sources.get(bookingId), recordFailure);
+                }
+            });
+        }
     }
 
-    @KafkaListener(topics = "booking-failed", groupId = "${spring.kafka.consumer.group-id}")
-    public void failBooking(final String messageString) throws JsonProcessingException {
-        logger.info("Received message='{}'", messageString);
-        ObjectMapper mapper = new ObjectMapper();
-        HashMap<String, String> messageMap = mapper.readValue(messageString, HashMap.class);
-        bookingService.updateBookingStatus(UUID.fromString(messageMap.get("bookingId")), "CANCELLED");
-        logger.info("Booking failed for bookingId={}", messageMap.get("bookingId"));
+    @KafkaListener(id = "released-bookings", topics = "ticket-released")
+    public void cancelReleasedBookings(final TicketReleasedMessage message) {
+        logger.info("Received message='{}'", message);
+        int cancelled = bookingService.cancelBookingsForReleasedTickets(message.ticketIds(),
+                message.releasedAt());
+        logger.info("Cancelled {} bookings for {} released tickets", cancelled, message.ticketIds().size());
     }
 
-    @KafkaListener(topics = "payment-success", groupId = "${spring.kafka.consumer.group-id}")
-    public void completeBooking(final String messageString) throws JsonProcessingException {
-        logger.info("Received message='{}'", messageString);
-        ObjectMapper mapper = new ObjectMapper();
-        HashMap<String, String> messageMap = mapper.readValue(messageString, HashMap.class);
-        bookingService.updateBookingStatus(UUID.fromString(messageMap.get("bookingId")), "CONFIRMED");
-        logger.info("Booking confirmed for bookingId={}", messageMap.get("bookingId"));
+    private void deadLetter(final ConsumerRecord<String, Object> record, final Exception cause) {
+        logger.error("Sending message from {}-{}@{} to the dead-letter topic", record.topic(), record.partition(),
+                record.offset(), cause);
+        HashMap<String, Object> message = new HashMap<>();
+        message.put("topic", record.topic());
+        message.put("partition", record.partition());
+        message.put("offset", record.offset());
+        message.put("payload", cause instanceof DeserializationException failed && failed.getData() != null
+                ? new String(failed.getData(), StandardCharsets.UTF_8) : String.valueOf(record.value()));
+        message.put("error", cause == null ? "Not a booking status message" : String.valueOf(cause.getMessage()));
+        producer.sendMessage(record.topic() + DEAD_LETTER_SUFFIX, record.key(), message);
     }
 }
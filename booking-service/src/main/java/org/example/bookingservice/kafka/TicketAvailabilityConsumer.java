@@ -0,0 +1,44 @@
+package org.example.bookingservice.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.example.bookingservice.service.TicketAvailabilityService;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
+import org.example.commonlibrary.kafka.message.TicketStatusChangedMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Feeds {@link TicketAvailabilityService}. Every booking-service instance keeps its own replica, so these
+ * listeners read every partition themselves instead of sharing them through a consumer group.
+ */
+@RequiredArgsConstructor
+@Component
+public class TicketAvailabilityConsumer {
+    private final Logger logger = LoggerFactory.getLogger(TicketAvailabilityConsumer.class);
+    private final TicketAvailabilityService ticketAvailabilityService;
+
+    @KafkaListener(id = "ticket-availability", idIsGroup = false,
+            containerFactory = "assignedKafkaListenerContainerFactory",
+            topicPartitions = @TopicPartition(topic = "ticket-status-changed",
+                    partitions = "#{@kafkaTopicConfig.partitionsOf('ticket-status-changed')}"))
+    public void trackTicketStatus(final TicketStatusChangedMessage message) {
+        logger.debug("Received message='{}'", message);
+        for (UUID ticketId : message.ticketIds()) {
+            ticketAvailabilityService.record(null, ticketId, message.ticketStatus(), message.expirationDate());
+        }
+    }
+
+    @KafkaListener(id = "released-ticket-availability", idIsGroup = false,
+            containerFactory = "assignedKafkaListenerContainerFactory",
+            topicPartitions = @TopicPartition(topic = "ticket-released",
+                    partitions = "#{@kafkaTopicConfig.partitionsOf('ticket-released')}"))
+    public void trackReleasedTickets(final TicketReleasedMessage message) {
+        logger.debug("Received message='{}'", message);
+        ticketAvailabilityService.markAvailable(message.ticketIds());
+    }
+}
@@ -1,9 +1,30 @@
 package org.example.bookingservice.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum BookingStatus {
     FAILED,
     PENDING,
     WAITING_FOR_PAYMENT,
     CONFIRMED,
-    CANCELLED
+    CANCELLED,
+    /**
+     * Paid for, but event-service had already given the ticket to another booking, so the payment is owed back.
+     */
+    REJECTED;
+
+    /**
+     * The statuses a booking may move to this one from. FAILED, CANCELLED and REJECTED bookings never move again,
+     * and a CONFIRMED booking only to REJECTED.
+     */
+    public Set<BookingStatus> allowedFrom() {
+        return switch (this) {
+            case WAITING_FOR_PAYMENT -> EnumSet.of(PENDING);
+            case CONFIRMED, CANCELLED -> EnumSet.of(PENDING, WAITING_FOR_PAYMENT);
+            case FAILED -> EnumSet.of(PENDING);
+            case REJECTED -> EnumSet.of(PENDING, WAITING_FOR_PAYMENT, CONFIRMED);
+            case PENDING -> EnumSet.noneOf(BookingStatus.class);
+        };
+    }
 }
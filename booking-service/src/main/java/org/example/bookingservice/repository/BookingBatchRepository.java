@@ -0,0 +1,10 @@
+package org.example.bookingservice.repository;
+
+import org.example.bookingservice.model.BookingStatus;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface BookingBatchRepository {
+    int updateStatuses(Map<UUID, BookingStatus> statuses);
+}
@@ -0,0 +1,55 @@
+package org.example.bookingservice.repository;
+
+import org.example.bookingservice.model.BookingStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public BookingBatchRepositoryImpl(final NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Applies every status change with a single
+     * {@code UPDATE bookings SET booking_status = CASE WHEN id IN (...) THEN ... END}, with one branch per target
+     * status. Each branch only matches bookings in a status {@link BookingStatus#allowedFrom() allowed} to move to
+     * its target, so a transition that arrives late never moves a booking backwards. Returns the number of bookings
+     * that exist and were updated.
+     */
+    @Override
+    @Transactional
+    public int updateStatuses(final Map<UUID, BookingStatus> statuses) {
+        Map<BookingStatus, List<UUID>> idsByStatus = new EnumMap<>(BookingStatus.class);
+        statuses.forEach((id, status) -> {
+            if (!status.allowedFrom().isEmpty()) {
+                idsByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+            }
+        });
+        if (idsByStatus.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder("UPDATE bookings SET booking_status = CASE");
+        StringBuilder where = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        for (Map.Entry<BookingStatus, List<UUID>> group : idsByStatus.entrySet()) {
+            String name = group.getKey().name();
+            sql.append(" WHEN id IN (:").append(name).append("_ids) THEN :").append(name);
+            where.append(where.isEmpty() ? " END WHERE " : " OR ")
+                    .append("(id IN (:").append(name).append("_ids) AND booking_status IN (:").append(name)
+                    .append("_from))");
+            params.addValue(name + "_ids", group.getValue())
+                    .addValue(name, group.getKey().ordinal())
+                    .addValue(name + "_from", group.getKey().allowedFrom().stream().map(Enum::ordinal).toList());
+        }
+        return namedParameterJdbcTemplate.update(sql.append(where).toString(), params);
+    }
+}
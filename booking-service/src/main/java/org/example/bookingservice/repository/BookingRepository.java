@@ -1,13 +1,25 @@
 package org.example.bookingservice.repository;
 
 import org.example.bookingservice.model.Booking;
+import org.example.bookingservice.model.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
+public interface BookingRepository extends JpaRepository<Booking, UUID>, BookingBatchRepository {
     List<Booking> findByUserId(UUID userId);
+
+    List<Booking> findByTicketIdInAndBookingStatusIn(Collection<UUID> ticketIds,
+                                                     Collection<BookingStatus> bookingStatuses);
+
+    List<Booking> findByTicketIdInAndBookingStatusInAndBookingDateBefore(Collection<UUID> ticketIds,
+                                                                         Collection<BookingStatus> bookingStatuses,
+                                                                         LocalDateTime bookedBefore);
+
+    List<Booking> findByIdInAndBookingStatus(Collection<UUID> ids, BookingStatus bookingStatus);
 }
@@ -2,13 +2,6 @@ package org.example.bookingservice.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.bookingservice.model.BookingStatus;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 import org.example.bookingservice.dto.BookingRequestDto;
 import org.example.bookingservice.dto.BookingResponseDto;
 import org.example.bookingservice.mapper.BookingMapper;
@@ -16,11 +9,12 @@ import org.example.bookingservice.model.Booking;
 import org.example.bookingservice.repository.BookingRepository;
 import org.example.commonlibrary.InvalidActionException;
 import org.example.commonlibrary.ValidationException;
-import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
+import org.example.commonlibrary.kafka.message.TicketBookedMessage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,42 +27,37 @@ import static org.example.bookingservice.model.BookingStatus.PENDING;
 @Service
 public class BookingService {
     private final BookingRepository bookingRepository;
-    private final MessageProducer messageProducer;
-    private static final String GATEWAY_URL = "http://localhost:8088/api/events/";
-    private final CacheManager cacheManager;
-    private final RestTemplate restTemplate;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketHoldService ticketHoldService;
+    private final TicketAvailabilityService ticketAvailabilityService;
 
-    public BookingResponseDto createBooking(final BookingRequestDto bookingRequestDto, final UUID userId,
-                                            final String authHeader) {
+    public BookingResponseDto createBooking(final BookingRequestDto bookingRequestDto, final UUID userId) {
         if (bookingRequestDto.getEventId() == null || bookingRequestDto.getTicketId() == null) {
             throw new ValidationException("Event ID and Ticket ID must not be null");
         }
-        String ticketAvailableUrl = GATEWAY_URL + bookingRequestDto.getEventId() + "/tickets/"
-                + bookingRequestDto.getTicketId() + "/available";
-        HttpHeaders headers = new HttpHeaders();
-        headers.set(HttpHeaders.AUTHORIZATION, authHeader);
-        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
-        ResponseEntity<Boolean> response = restTemplate.exchange(ticketAvailableUrl,
-                HttpMethod.GET,
-                requestEntity,
-                Boolean.class);
-        if (Boolean.FALSE.equals(response.getBody())) {
-            throw new ValidationException("Ticket is not available");
-        }
-        Cache ticketReservationCache = cacheManager.getCache("ticketReservations");
-        if (ticketReservationCache != null && ticketReservationCache.get(bookingRequestDto.getTicketId()) != null) {
+        if (!ticketHoldService.tryHold(bookingRequestDto.getTicketId(), userId)) {
             throw new ValidationException("Ticket is already reserved, please try again later");
         }
-        bookingRequestDto.setBookingDate(LocalDateTime.now());
-        bookingRequestDto.setBookingStatus(String.valueOf(PENDING));
-        Booking booking = BookingMapper.toBooking(bookingRequestDto, userId);
-        Booking created = bookingRepository.save(booking);
-        messageProducer.sendMessage("reserve-ticket", "ticket-available", new HashMap<>(
-                Map.of("ticketId", bookingRequestDto.getTicketId(), "eventId", bookingRequestDto.getEventId(),
-                        "userId", userId, "bookingId", created.getId())
-        ));
-        ticketReservationCache.put(bookingRequestDto.getTicketId(), true);
-        return BookingMapper.toBookingResponseDto(created);
+        try {
+            if (!ticketAvailabilityService.isAvailable(bookingRequestDto.getEventId(),
+                    bookingRequestDto.getTicketId())) {
+                throw new ValidationException("Ticket is not available");
+            }
+            bookingRequestDto.setBookingDate(LocalDateTime.now());
+            bookingRequestDto.setBookingStatus(String.valueOf(PENDING));
+            Booking booking = BookingMapper.toBooking(bookingRequestDto, userId);
+            Booking created = transactionTemplate.execute(status -> {
+                Booking saved = bookingRepository.save(booking);
+                outboxService.enqueue("reserve-ticket", new ReserveTicketMessage(
+                        bookingRequestDto.getTicketId(), bookingRequestDto.getEventId(), userId, saved.getId()));
+                return saved;
+            });
+            return BookingMapper.toBookingResponseDto(created);
+        } catch (RuntimeException e) {
+            ticketHoldService.release(bookingRequestDto.getTicketId(), userId);
+            throw e;
+        }
     }
 
     public Optional<BookingResponseDto> getBookingById(final UUID id) {
@@ -106,6 +95,50 @@ public class BookingService {
         });
     }
 
+    /**
+     * Applies the status changes and, in the same transaction, queues a ticket-booked message for every booking
+     * that is now CONFIRMED, so event-service moves its ticket to BOOKED and stops releasing it, or answers with
+     * booking-rejected when the reservation already went to another booking.
+     */
+    public int updateBookingStatuses(final Map<UUID, BookingStatus> statuses) {
+        List<UUID> confirmedIds = statuses.entrySet().stream()
+                .filter(entry -> entry.getValue() == BookingStatus.CONFIRMED)
+                .map(Map.Entry::getKey)
+                .toList();
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = bookingRepository.updateStatuses(statuses);
+            if (!confirmedIds.isEmpty()) {
+                bookingRepository.findByIdInAndBookingStatus(confirmedIds, BookingStatus.CONFIRMED).forEach(
+                        booking -> outboxService.enqueue("ticket-booked",
+                                new TicketBookedMessage(booking.getTicketId(), booking.getId())));
+            }
+            return rows;
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    /**
+     * Cancels the unpaid bookings a ticket-released message covers: those made before {@code releasedAt}, or all
+     * of them when the message predates that field. Bookings made after the release hold a new reservation and
+     * are left alone. Paid bookings are left to their ticket-booked message, which event-service either books or
+     * rejects. Once the cancellations are committed, the Redis holds of the cancelled bookings are dropped if their
+     * users still own them, so a hold taken by someone else after the release survives.
+     */
+    public int cancelBookingsForReleasedTickets(final List<UUID> ticketIds, final LocalDateTime releasedAt) {
+        List<BookingStatus> unpaid = List.of(PENDING, BookingStatus.WAITING_FOR_PAYMENT);
+        List<Booking> cancelled = releasedAt == null
+                ? bookingRepository.findByTicketIdInAndBookingStatusIn(ticketIds, unpaid)
+                : bookingRepository.findByTicketIdInAndBookingStatusInAndBookingDateBefore(ticketIds, unpaid,
+                releasedAt);
+        if (cancelled.isEmpty()) {
+            return 0;
+        }
+        int rows = bookingRepository.updateStatuses(cancelled.stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> BookingStatus.CANCELLED)));
+        ticketHoldService.releaseAll(cancelled);
+        return rows;
+    }
+
     public Optional<BookingResponseDto> deleteBooking(final UUID id) {
         return bookingRepository.findById(id).map(existing -> {
             bookingRepository.deleteById(id);
@@ -0,0 +1,42 @@
+package org.example.bookingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.bookingservice.model.OutboxMessage;
+import org.example.bookingservice.repository.OutboxMessageRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records a Kafka message in the outbox table. Call it inside the transaction that changes the data the
+ * message describes; {@link OutboxRelay} publishes it once that transaction has committed.
+ */
+@RequiredArgsConstructor
+@Service
+public class OutboxService {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Queues a message under its own partition key, see {@link MessageProducer#keyFor}.
+     */
+    public OutboxMessage enqueue(final String topic, final Object message) {
+        return enqueue(topic, MessageProducer.keyFor(message), message);
+    }
+
+    public OutboxMessage enqueue(final String topic, final String key, final Object message) {
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.setTopic(topic);
+        outboxMessage.setMessageKey(key);
+        try {
+            outboxMessage.setPayload(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox message for " + topic + " is not serializable", e);
+        }
+        outboxMessage.setCreatedAt(LocalDateTime.now());
+        return outboxMessageRepository.save(outboxMessage);
+    }
+}
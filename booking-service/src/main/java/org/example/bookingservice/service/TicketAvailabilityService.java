@@ -0,0 +1,69 @@
+package org.example.bookingservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.bookingservice.client.EventServiceClient;
+import org.example.bookingservice.dto.TicketDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Local replica of ticket availability, kept current by event-service's ticket-status-changed and
+ * ticket-released events. Each ticket maps to the time until which it is held: {@link LocalDateTime#MIN}
+ * when available, the reservation expiry when reserved, {@link LocalDateTime#MAX} when booked. Alongside it the
+ * replica keeps the event the ticket belongs to, learned from event-service, which checks that on every lookup.
+ * Tickets this instance has not looked up yet, including those only known from events, are looked up once in
+ * event-service and remembered.
+ */
+@Service
+public class TicketAvailabilityService {
+    private final EventServiceClient eventServiceClient;
+    private final Cache<UUID, Hold> holds;
+
+    public TicketAvailabilityService(final EventServiceClient eventServiceClient,
+                                     @Value("${ticket.availability.max-size:1000000}") final long maxSize) {
+        this.eventServiceClient = eventServiceClient;
+        this.holds = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public boolean isAvailable(final UUID eventId, final UUID ticketId) {
+        Hold hold = holds.getIfPresent(ticketId);
+        if (hold == null || hold.eventId() == null) {
+            Optional<TicketDto> ticket = eventServiceClient.getTicket(eventId, ticketId);
+            if (ticket.isEmpty()) {
+                return false;
+            }
+            return !record(eventId, ticketId, ticket.get().getTicketStatus(), ticket.get().getExpirationDate())
+                    .isAfter(LocalDateTime.now());
+        }
+        return hold.eventId().equals(eventId) && !hold.heldUntil().isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Records a ticket's status. {@code eventId} is {@code null} when the source does not say which event the
+     * ticket belongs to; an event already known for the ticket is kept then.
+     */
+    public LocalDateTime record(final UUID eventId, final UUID ticketId, final String ticketStatus,
+                                final LocalDateTime expirationDate) {
+        LocalDateTime until = switch (ticketStatus) {
+            case "AVAILABLE" -> LocalDateTime.MIN;
+            case "RESERVED" -> expirationDate == null ? LocalDateTime.MAX : expirationDate;
+            default -> LocalDateTime.MAX;
+        };
+        holds.asMap().merge(ticketId, new Hold(eventId, until),
+                (cached, update) -> update.eventId() != null ? update : new Hold(cached.eventId(), until));
+        return until;
+    }
+
+    public void markAvailable(final Collection<UUID> ticketIds) {
+        ticketIds.forEach(ticketId -> record(null, ticketId, "AVAILABLE", null));
+    }
+
+    private record Hold(UUID eventId, LocalDateTime heldUntil) {
+    }
+}
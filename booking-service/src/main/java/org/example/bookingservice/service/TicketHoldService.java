@@ -0,0 +1,73 @@
+package org.example.bookingservice.service;
+
+import org.example.bookingservice.model.Booking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims a ticket for a single user in Redis before a booking is written. The hold is taken with one
+ * {@code SET NX PX} round trip, so exactly one of any number of concurrent callers wins, and it expires on its
+ * own after the reservation window.
+ */
+@Service
+public class TicketHoldService {
+    private static final String KEY_PREFIX = "ticket-hold:";
+    private static final RedisScript<Long> RELEASE_IF_HOLDER = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_ALL_IF_HOLDER = new DefaultRedisScript<>(
+            "local released = 0 "
+                    + "for i, key in ipairs(KEYS) do "
+                    + "if redis.call('get', key) == ARGV[i] then released = released + redis.call('del', key) end "
+                    + "end return released",
+            Long.class);
+    private final StringRedisTemplate redisTemplate;
+    private final Duration holdDuration;
+
+    public TicketHoldService(final StringRedisTemplate redisTemplate,
+                             @Value("${ticket.hold.duration.minutes:10}") final long holdDurationMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.holdDuration = Duration.ofMinutes(holdDurationMinutes);
+    }
+
+    public boolean tryHold(final UUID ticketId, final UUID holderId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(key(ticketId), holderId.toString(), holdDuration));
+    }
+
+    /**
+     * Drops the hold only if {@code holderId} still owns it, so a late failure never frees someone else's hold.
+     */
+    public boolean release(final UUID ticketId, final UUID holderId) {
+        Long deleted = redisTemplate.execute(RELEASE_IF_HOLDER, List.of(key(ticketId)), holderId.toString());
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * Drops the hold of every booking whose user still owns it, in one round trip. Holds taken since by other
+     * users are left alone.
+     *
+     * @return the number of holds dropped
+     */
+    public long releaseAll(final Collection<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+        List<String> keys = bookings.stream().map(booking -> key(booking.getTicketId())).toList();
+        Object[] holderIds = bookings.stream().map(booking -> booking.getUserId().toString()).toArray();
+        Long deleted = redisTemplate.execute(RELEASE_ALL_IF_HOLDER, keys, holderIds);
+        return deleted == null ? 0 : deleted;
+    }
+
+    private static String key(final UUID ticketId) {
+        return KEY_PREFIX + ticketId;
+    }
+}
@@ -0,0 +1,3 @@
+-- Runs before Hibernate updates the schema. ddl-auto=update never widens the check constraint it generated for the
+-- ordinal booking_status column, so drop it to let existing databases store REJECTED; new databases get it back.
+ALTER TABLE IF EXISTS bookings DROP CONSTRAINT IF EXISTS bookings_booking_status_check;
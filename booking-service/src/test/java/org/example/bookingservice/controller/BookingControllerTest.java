@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.bookingservice.dto.BookingRequestDto;
 import org.example.bookingservice.dto.BookingResponseDto;
 import org.example.bookingservice.service.BookingService;
+import org.example.bookingservice.service.OutboxRelay;
+import org.example.bookingservice.service.OutboxService;
+import org.example.bookingservice.service.TicketHoldService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -28,6 +31,12 @@ class BookingControllerTest {
     private ObjectMapper objectMapper;
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private TicketHoldService ticketHoldService;
+    @MockBean
+    private OutboxService outboxService;
+    @MockBean
+    private OutboxRelay outboxRelay;
 
     @Test
     @DisplayName("Should create a booking and return the created booking")
@@ -35,7 +44,7 @@ class BookingControllerTest {
         BookingRequestDto request = new BookingRequestDto();
         BookingResponseDto response = new BookingResponseDto();
         UUID userId = UUID.randomUUID();
-        Mockito.when(bookingService.createBooking(any(), any(), anyString())).thenReturn(response);
+        Mockito.when(bookingService.createBooking(any(), any())).thenReturn(response);
         mockMvc.perform(post("/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("X-User-Id", userId)
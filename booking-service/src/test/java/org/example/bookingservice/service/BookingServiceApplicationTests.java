@@ -1,17 +1,30 @@
 package org.example.bookingservice.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
 import org.example.bookingservice.dto.BookingRequestDto;
+import org.example.bookingservice.kafka.MessageConsumer;
 import org.example.bookingservice.model.Booking;
 import org.example.bookingservice.model.BookingStatus;
+import org.example.bookingservice.model.OutboxMessage;
 import org.example.bookingservice.repository.BookingRepository;
+import org.example.bookingservice.repository.OutboxMessageRepository;
+import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.TypedMessageDeserializer;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpMethod;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.ExpectedCount;
@@ -19,16 +32,26 @@ import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
 @AutoConfigureMockMvc
 public class BookingServiceApplicationTests {
     @Autowired
@@ -37,9 +60,27 @@ public class BookingServiceApplicationTests {
     private BookingRepository bookingRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private BookingService bookingService;
 
     @Autowired
     private RestTemplate restTemplate;
+    @Autowired
+    private TicketHoldService ticketHoldService;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private TicketAvailabilityService ticketAvailabilityService;
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private MessageConsumer messageConsumer;
+    @MockBean
+    private MessageProducer messageProducer;
 
     private MockRestServiceServer mockServer;
 
@@ -50,6 +91,8 @@ public class BookingServiceApplicationTests {
     @BeforeEach
     void setUp() {
         bookingRepository.deleteAll();
+        outboxMessageRepository.deleteAll();
+        Mockito.when(messageProducer.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
         userId = UUID.randomUUID();
         eventId = UUID.randomUUID();
         ticketId = UUID.randomUUID();
@@ -59,17 +102,18 @@ public class BookingServiceApplicationTests {
     @AfterEach
     void reset() {
         bookingRepository.deleteAll();
+        outboxMessageRepository.deleteAll();
+        redisTemplate.delete("ticket-hold:" + ticketId);
     }
 
     @Test
     void testCreateBookingIntegration() throws Exception {
         mockServer.expect(ExpectedCount.once(),
-                        requestTo("http://localhost:8088/api/events/" + eventId + "/tickets/" +
-                                ticketId + "/available"))
+                        requestTo("http://localhost:8082/api/events/" + eventId + "/tickets/" + ticketId))
                 .andExpect(method(HttpMethod.GET))
-                .andRespond(withStatus(HttpStatus.OK) // Respond with 200 OK
+                .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .body("true"));
+                        .body("{\"ticketId\":\"" + ticketId + "\",\"ticketStatus\":\"AVAILABLE\"}"));
         BookingRequestDto dto = new BookingRequestDto();
         dto.setEventId(eventId);
         dto.setTicketId(ticketId);
@@ -79,13 +123,60 @@ public class BookingServiceApplicationTests {
         mockMvc.perform(post("/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("X-User-Id", userId)
-                        .header("Authorization", "Bearer test-token")
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.eventId").value(eventId.toString()));
         mockServer.verify();
     }
 
+    @Test
+    void testCreateBookingUsesReplicatedAvailabilityWithoutCallingEventService() throws Exception {
+        ticketAvailabilityService.record(eventId, ticketId, "AVAILABLE", null);
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEventId(eventId);
+        dto.setTicketId(ticketId);
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+        mockServer.verify();
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void testCreateBookingRejectsReplicatedTicketOfAnotherEvent() throws Exception {
+        ticketAvailabilityService.record(eventId, ticketId, "AVAILABLE", null);
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEventId(UUID.randomUUID());
+        dto.setTicketId(ticketId);
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+        mockServer.verify();
+        assertEquals(0, bookingRepository.count());
+    }
+
+    @Test
+    void testCreateBookingIsUnavailableWhileEventServiceFails() throws Exception {
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo("http://localhost:8082/api/events/" + eventId + "/tickets/" + ticketId))
+                .andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEventId(eventId);
+        dto.setTicketId(ticketId);
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        mockServer.verify();
+        assertTrue(ticketHoldService.tryHold(ticketId, UUID.randomUUID()));
+    }
+
     @Test
     void testGetBookingByIdIntegration() throws Exception {
         Booking booking = new Booking();
@@ -197,5 +288,252 @@ public class BookingServiceApplicationTests {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].userId").value(userId.toString()));
     }
-}
 
+    @Test
+    void testCancelBookingsForReleasedTicketsIntegration() {
+        Booking pending = new Booking();
+        pending.setUserId(userId);
+        pending.setEventId(eventId);
+        pending.setTicketId(ticketId);
+        pending.setBookingStatus(BookingStatus.WAITING_FOR_PAYMENT);
+        pending.setBookingDate(LocalDateTime.now());
+        bookingRepository.save(pending);
+        Booking confirmed = new Booking();
+        confirmed.setUserId(userId);
+        confirmed.setEventId(eventId);
+        confirmed.setTicketId(ticketId);
+        confirmed.setBookingStatus(BookingStatus.CONFIRMED);
+        confirmed.setBookingDate(LocalDateTime.now());
+        bookingRepository.save(confirmed);
+        LocalDateTime releasedAt = LocalDateTime.now();
+        Booking rebooked = new Booking();
+        rebooked.setUserId(UUID.randomUUID());
+        rebooked.setEventId(eventId);
+        rebooked.setTicketId(ticketId);
+        rebooked.setBookingStatus(BookingStatus.PENDING);
+        rebooked.setBookingDate(releasedAt.plusSeconds(1));
+        bookingRepository.save(rebooked);
+
+        int cancelled = bookingService.cancelBookingsForReleasedTickets(List.of(ticketId), releasedAt);
+
+        assertEquals(1, cancelled);
+        assertEquals(BookingStatus.CANCELLED,
+                bookingRepository.findById(pending.getId()).orElseThrow().getBookingStatus());
+        assertEquals(BookingStatus.CONFIRMED,
+                bookingRepository.findById(confirmed.getId()).orElseThrow().getBookingStatus());
+        assertEquals(BookingStatus.PENDING,
+                bookingRepository.findById(rebooked.getId()).orElseThrow().getBookingStatus());
+        assertTrue(outboxMessageRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void testLateReleaseKeepsAHoldTakenAfterIt() {
+        Booking expired = new Booking();
+        expired.setUserId(userId);
+        expired.setEventId(eventId);
+        expired.setTicketId(ticketId);
+        expired.setBookingStatus(BookingStatus.WAITING_FOR_PAYMENT);
+        expired.setBookingDate(LocalDateTime.now().minusMinutes(1));
+        bookingRepository.save(expired);
+        LocalDateTime releasedAt = LocalDateTime.now();
+        UUID newHolder = UUID.randomUUID();
+        assertTrue(ticketHoldService.tryHold(ticketId, newHolder));
+
+        assertEquals(1, bookingService.cancelBookingsForReleasedTickets(List.of(ticketId), releasedAt));
+
+        assertEquals(BookingStatus.CANCELLED,
+                bookingRepository.findById(expired.getId()).orElseThrow().getBookingStatus());
+        assertEquals(newHolder.toString(), redisTemplate.opsForValue().get("ticket-hold:" + ticketId));
+    }
+
+    @Test
+    void testCreateBookingRejectsHeldTicketBeforeAnyWork() throws Exception {
+        ticketHoldService.tryHold(ticketId, UUID.randomUUID());
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEventId(eventId);
+        dto.setTicketId(ticketId);
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-User-Id", userId)
+                        .header("Authorization", "Bearer test-token")
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+        mockServer.verify();
+        assertEquals(0, bookingRepository.count());
+        assertEquals(0, outboxMessageRepository.count());
+    }
+
+    @Test
+    void testCreateBookingReleasesHoldWhenTicketIsUnavailable() throws Exception {
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo("http://localhost:8082/api/events/" + eventId + "/tickets/" + ticketId))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"ticketId\":\"" + ticketId + "\",\"ticketStatus\":\"RESERVED\","
+                                + "\"expirationDate\":\"" + LocalDateTime.now().plusMinutes(5) + "\"}"));
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEventId(eventId);
+        dto.setTicketId(ticketId);
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-User-Id", userId)
+                        .header("Authorization", "Bearer test-token")
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+        mockServer.verify();
+        assertTrue(ticketHoldService.tryHold(ticketId, UUID.randomUUID()));
+    }
+
+    @Test
+    void testCreateBookingQueuesReserveTicketInOutbox() throws Exception {
+        ticketAvailabilityService.record(eventId, ticketId, "AVAILABLE", null);
+        BookingRequestDto dto = new BookingRequestDto();
+        dto.setEventId(eventId);
+        dto.setTicketId(ticketId);
+        String response = mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-User-Id", userId)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bookingId = objectMapper.readTree(response).get("id").asText();
+
+        List<OutboxMessage> queued = outboxMessageRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals("reserve-ticket", queued.get(0).getTopic());
+        assertEquals(ticketId.toString(), queued.get(0).getMessageKey());
+        assertEquals(bookingId, objectMapper.readTree(queued.get(0).getPayload()).get("bookingId").asText());
+        Mockito.verify(messageProducer, Mockito.never()).send(any(), any(), any());
+
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(0, outboxMessageRepository.countBySentAtIsNull());
+        Mockito.verify(messageProducer).send(eq("reserve-ticket"), eq(ticketId.toString()),
+                eq(new ReserveTicketMessage(ticketId, eventId, userId, UUID.fromString(bookingId))));
+    }
+
+    @Test
+    void testOutboxRelayLeavesFailedSendsForTheNextRun() {
+        outboxService.enqueue("reserve-ticket", "ticket-available", Map.of("bookingId", UUID.randomUUID()));
+        Mockito.when(messageProducer.send(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        assertEquals(0, outboxRelay.relay());
+        assertEquals(1, outboxMessageRepository.countBySentAtIsNull());
+
+        Mockito.when(messageProducer.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(0, outboxMessageRepository.countBySentAtIsNull());
+    }
+
+    @Test
+    void testOutboxRelayMarksUnsendableMessagesFailedAndRelaysTheRest() {
+        OutboxMessage unreadable = new OutboxMessage();
+        unreadable.setTopic("reserve-ticket");
+        unreadable.setPayload("not json");
+        unreadable.setCreatedAt(LocalDateTime.now().minusSeconds(2));
+        outboxMessageRepository.save(unreadable);
+        OutboxMessage rejected = outboxService.enqueue("reserve-ticket", "rejected",
+                Map.of("bookingId", UUID.randomUUID()));
+        outboxService.enqueue("reserve-ticket", "ticket-available", Map.of("bookingId", UUID.randomUUID()));
+        Mockito.when(messageProducer.send(eq("reserve-ticket"), eq("rejected"), any()))
+                .thenThrow(new IllegalArgumentException("record too large"));
+
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(0, outboxRelay.relay());
+
+        assertEquals(2, outboxMessageRepository.countByFailedAtIsNotNull());
+        assertEquals(2, outboxMessageRepository.countBySentAtIsNull());
+        assertEquals("record too large",
+                outboxMessageRepository.findById(rejected.getId()).orElseThrow().getFailureReason());
+        Mockito.verify(messageProducer).send(eq("reserve-ticket"), eq("ticket-available"), any());
+    }
+
+    @Test
+    void testBatchStatusUpdateAppliesFurthestStatusAndDeadLettersBadRecords() throws Exception {
+        Booking reserved = saveBooking(BookingStatus.PENDING);
+        Booking paid = saveBooking(BookingStatus.PENDING);
+        Booking failed = saveBooking(BookingStatus.WAITING_FOR_PAYMENT);
+
+        messageConsumer.updateBookingStatuses(List.of(
+                statusRecord("ticket-reserved", 0, "{\"bookingId\":\"" + reserved.getId() + "\"}"),
+                statusRecord("payment-success", 0, "{\"bookingId\":\"" + paid.getId() + "\"}"),
+                statusRecord("ticket-reserved", 1, "{\"bookingId\":\"" + paid.getId() + "\"}"),
+                statusRecord("booking-failed", 0, "{\"bookingId\":\"" + failed.getId() + "\"}"),
+                statusRecord("payment-success", 1, "{\"bookingId\":\"not-a-uuid\"}"),
+                statusRecord("ticket-reserved", 2, "{\"bookingId\":\"" + UUID.randomUUID() + "\"}")));
+
+        assertEquals(BookingStatus.WAITING_FOR_PAYMENT,
+                bookingRepository.findById(reserved.getId()).orElseThrow().getBookingStatus());
+        assertEquals(BookingStatus.CONFIRMED,
+                bookingRepository.findById(paid.getId()).orElseThrow().getBookingStatus());
+        assertEquals(BookingStatus.CANCELLED,
+                bookingRepository.findById(failed.getId()).orElseThrow().getBookingStatus());
+        List<OutboxMessage> queued = outboxMessageRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals("ticket-booked", queued.get(0).getTopic());
+        assertEquals(paid.getTicketId().toString(), queued.get(0).getMessageKey());
+        assertEquals(paid.getId().toString(),
+                objectMapper.readTree(queued.get(0).getPayload()).get("bookingId").asText());
+        Mockito.verify(messageProducer).sendMessage(eq("payment-success.DLT"), any(),
+                argThat(message -> ((Map<?, ?>) message).get("payload").equals("{\"bookingId\":\"not-a-uuid\"}")));
+        Mockito.verify(messageProducer, Mockito.times(1)).sendMessage(any(), any(), any());
+    }
+
+    @Test
+    void testLateStatusMessagesInALaterPollNeverMoveABookingBackwards() {
+        Booking paid = saveBooking(BookingStatus.WAITING_FOR_PAYMENT);
+        Booking failed = saveBooking(BookingStatus.PENDING);
+
+        messageConsumer.updateBookingStatuses(List.of(
+                statusRecord("payment-success", 0, "{\"bookingId\":\"" + paid.getId() + "\"}"),
+                statusRecord("booking-failed", 0, "{\"bookingId\":\"" + failed.getId() + "\"}")));
+        messageConsumer.updateBookingStatuses(List.of(
+                statusRecord("ticket-reserved", 0, "{\"bookingId\":\"" + paid.getId() + "\"}"),
+                statusRecord("booking-failed", 1, "{\"bookingId\":\"" + paid.getId() + "\"}"),
+                statusRecord("ticket-reserved", 1, "{\"bookingId\":\"" + failed.getId() + "\"}")));
+
+        assertEquals(BookingStatus.CONFIRMED,
+                bookingRepository.findById(paid.getId()).orElseThrow().getBookingStatus());
+        assertEquals(BookingStatus.CANCELLED,
+                bookingRepository.findById(failed.getId()).orElseThrow().getBookingStatus());
+    }
+
+    @Test
+    void testRejectedBookingsNeverMoveAgain() {
+        Booking confirmed = saveBooking(BookingStatus.CONFIRMED);
+        Booking paidInThisPoll = saveBooking(BookingStatus.WAITING_FOR_PAYMENT);
+
+        messageConsumer.updateBookingStatuses(List.of(
+                statusRecord("booking-rejected", 0, "{\"bookingId\":\"" + confirmed.getId() + "\"}"),
+                statusRecord("payment-success", 0, "{\"bookingId\":\"" + paidInThisPoll.getId() + "\"}"),
+                statusRecord("booking-rejected", 1, "{\"bookingId\":\"" + paidInThisPoll.getId() + "\"}")));
+        messageConsumer.updateBookingStatuses(List.of(
+                statusRecord("payment-success", 1, "{\"bookingId\":\"" + confirmed.getId() + "\"}"),
+                statusRecord("booking-failed", 0, "{\"bookingId\":\"" + paidInThisPoll.getId() + "\"}")));
+
+        assertEquals(BookingStatus.REJECTED,
+                bookingRepository.findById(confirmed.getId()).orElseThrow().getBookingStatus());
+        assertEquals(BookingStatus.REJECTED,
+                bookingRepository.findById(paidInThisPoll.getId()).orElseThrow().getBookingStatus());
+        assertTrue(outboxMessageRepository.findAll().isEmpty());
+    }
+
+    private Booking saveBooking(final BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUserId(userId);
+        booking.setEventId(eventId);
+        booking.setTicketId(UUID.randomUUID());
+        booking.setBookingStatus(status);
+        booking.setBookingDate(LocalDateTime.now());
+        return bookingRepository.save(booking);
+    }
+
+    private static ConsumerRecord<String, Object> statusRecord(final String topic, final long offset,
+                                                               final String value) {
+        RecordHeaders headers = new RecordHeaders();
+        Object message = new ErrorHandlingDeserializer<>(new TypedMessageDeserializer())
+                .deserialize(topic, headers, value.getBytes(StandardCharsets.UTF_8));
+        return new ConsumerRecord<>(topic, 0, offset, 0L, TimestampType.CREATE_TIME, 0, value.length(), null, message,
+                headers, Optional.empty());
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.bookingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.example.bookingservice.dto.BookingRequestDto;
+import org.example.bookingservice.repository.BookingRepository;
+import org.example.commonlibrary.kafka.MessageProducer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Run with {@code -Dbenchmark=true} against local Postgres and Redis to print {@code POST /bookings} latency
+ * when availability comes from the replicated view versus the direct event-service fallback. The fallback is
+ * served by an in-process stub, so it measures the client and connection pool rather than event-service itself.
+ */
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CreateBookingLatencyBenchmarkTests {
+    private static final int REQUESTS = 2_000;
+    private static final HttpServer EVENT_SERVICE_STUB = startEventServiceStub();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private TicketAvailabilityService ticketAvailabilityService;
+    @MockBean
+    private MessageProducer messageProducer;
+
+    @DynamicPropertySource
+    static void eventServiceUrl(final DynamicPropertyRegistry registry) {
+        registry.add("event-service.url",
+                () -> "http://localhost:" + EVENT_SERVICE_STUB.getAddress().getPort() + "/api");
+    }
+
+    @AfterEach
+    void reset() {
+        bookingRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        EVENT_SERVICE_STUB.stop(0);
+    }
+
+    @Test
+    void benchmarkCreateBooking() throws Exception {
+        report("fallback to event-service", measure(false));
+        report("replicated availability", measure(true));
+    }
+
+    private long[] measure(final boolean replicated) throws Exception {
+        long[] latencies = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            BookingRequestDto dto = new BookingRequestDto();
+            dto.setEventId(UUID.randomUUID());
+            dto.setTicketId(UUID.randomUUID());
+            if (replicated) {
+                ticketAvailabilityService.record(dto.getEventId(), dto.getTicketId(), "AVAILABLE", null);
+            }
+            String body = objectMapper.writeValueAsString(dto);
+            long start = System.nanoTime();
+            mockMvc.perform(post("/bookings")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-User-Id", UUID.randomUUID())
+                            .content(body))
+                    .andExpect(status().isOk());
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static void report(final String path, final long[] latencies) {
+        Arrays.sort(latencies);
+        System.out.printf("POST /bookings via %s: p50=%d us, p99=%d us%n", path,
+                TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length * 99 / 100]));
+    }
+
+    private static HttpServer startEventServiceStub() {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/events/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                String ticketId = path.substring(path.lastIndexOf('/') + 1);
+                byte[] response = ("{\"ticketId\":\"" + ticketId + "\",\"ticketStatus\":\"AVAILABLE\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
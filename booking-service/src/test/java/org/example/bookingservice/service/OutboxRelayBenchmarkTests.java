@@ -0,0 +1,82 @@
+package org.example.bookingservice.service;
+
+import org.example.bookingservice.model.OutboxMessage;
+import org.example.bookingservice.repository.OutboxMessageRepository;
+import org.example.commonlibrary.kafka.MessageProducer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Run with {@code -Dbenchmark=true} against a local Postgres to print how fast the relay drains a 50k row
+ * outbox backlog. Every send is acknowledged instantly, so this measures the claim/mark-sent side of the relay.
+ */
+@SpringBootTest(properties = "outbox.relay.interval-ms=3600000")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class OutboxRelayBenchmarkTests {
+    private static final int BACKLOG = 50_000;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @TestConfiguration
+    static class InstantAckProducer {
+        @Bean
+        @Primary
+        MessageProducer instantAckMessageProducer() {
+            MessageProducer producer = Mockito.mock(MessageProducer.class, Mockito.withSettings().stubOnly());
+            Mockito.when(producer.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+            return producer;
+        }
+    }
+
+    @AfterEach
+    void reset() {
+        outboxMessageRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void benchmarkRelayThroughput() {
+        List<OutboxMessage> backlog = new ArrayList<>(BACKLOG);
+        for (int i = 0; i < BACKLOG; i++) {
+            OutboxMessage message = new OutboxMessage();
+            message.setTopic("reserve-ticket");
+            UUID ticketId = UUID.randomUUID();
+            message.setMessageKey(ticketId.toString());
+            message.setPayload("{\"bookingId\":\"" + UUID.randomUUID() + "\",\"ticketId\":\"" + ticketId
+                    + "\",\"eventId\":\"" + UUID.randomUUID() + "\",\"userId\":\"" + UUID.randomUUID() + "\"}");
+            message.setCreatedAt(LocalDateTime.now());
+            backlog.add(message);
+        }
+        outboxMessageRepository.saveAll(backlog);
+
+        long start = System.nanoTime();
+        int relayed = 0;
+        while (relayed < BACKLOG) {
+            relayed += outboxRelay.relay();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("Relayed %,d outbox messages in %d ms -> %,d messages/sec%n", relayed,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), relayed * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        assertEquals(0, outboxMessageRepository.countBySentAtIsNull());
+    }
+}
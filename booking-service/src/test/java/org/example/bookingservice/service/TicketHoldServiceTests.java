@@ -0,0 +1,126 @@
+package org.example.bookingservice.service;
+
+import org.example.bookingservice.model.Booking;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TicketHoldServiceTests {
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static TicketHoldService ticketHoldService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.hasKey("warm-up");
+        ticketHoldService = new TicketHoldService(redisTemplate, 10);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void testOnlyOneConcurrentHolderWins() throws Exception {
+        UUID ticketId = UUID.randomUUID();
+        int attempts = 2000;
+        long[] latencies = new long[attempts];
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            int attempt = i;
+            tasks.add(() -> {
+                long start = System.nanoTime();
+                boolean held = ticketHoldService.tryHold(ticketId, UUID.randomUUID());
+                latencies[attempt] = System.nanoTime() - start;
+                return held;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        int winners = 0;
+        for (Future<Boolean> future : executor.invokeAll(tasks)) {
+            if (future.get()) {
+                winners++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, winners);
+        long ttl = redisTemplate.getExpire("ticket-hold:" + ticketId, TimeUnit.SECONDS);
+        assertTrue(ttl > 0 && ttl <= TimeUnit.MINUTES.toSeconds(10));
+        Arrays.sort(latencies);
+        System.out.printf("tryHold under contention: p50=%d us, p99=%d us%n",
+                TimeUnit.NANOSECONDS.toMicros(latencies[attempts / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[attempts * 99 / 100]));
+    }
+
+    @Test
+    void testReleaseOnlyFreesTheHoldersClaim() {
+        UUID ticketId = UUID.randomUUID();
+        UUID holder = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        assertTrue(ticketHoldService.tryHold(ticketId, holder));
+
+        assertFalse(ticketHoldService.release(ticketId, other));
+        assertFalse(ticketHoldService.tryHold(ticketId, other));
+        assertTrue(ticketHoldService.release(ticketId, holder));
+        assertTrue(ticketHoldService.tryHold(ticketId, other));
+    }
+
+    @Test
+    void testReleaseAllOnlyDropsTheBookingsOwnHolds() {
+        Booking first = booking(UUID.randomUUID());
+        Booking second = booking(UUID.randomUUID());
+        Booking superseded = booking(UUID.randomUUID());
+        UUID newHolder = UUID.randomUUID();
+        ticketHoldService.tryHold(first.getTicketId(), first.getUserId());
+        ticketHoldService.tryHold(second.getTicketId(), second.getUserId());
+        ticketHoldService.tryHold(superseded.getTicketId(), newHolder);
+
+        assertEquals(2, ticketHoldService.releaseAll(List.of(first, second, superseded)));
+
+        assertTrue(ticketHoldService.tryHold(first.getTicketId(), UUID.randomUUID()));
+        assertTrue(ticketHoldService.tryHold(second.getTicketId(), UUID.randomUUID()));
+        assertFalse(ticketHoldService.tryHold(superseded.getTicketId(), UUID.randomUUID()));
+        assertTrue(ticketHoldService.release(superseded.getTicketId(), newHolder));
+    }
+
+    private static Booking booking(final UUID ticketId) {
+        Booking booking = new Booking();
+        booking.setTicketId(ticketId);
+        booking.setUserId(UUID.randomUUID());
+        return booking;
+    }
+}
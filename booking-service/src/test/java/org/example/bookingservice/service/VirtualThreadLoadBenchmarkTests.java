@@ -0,0 +1,141 @@
+package org.example.bookingservice.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.bookingservice.BookingServiceApplication;
+import org.example.bookingservice.repository.BookingRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Run with {@code -Dbenchmark=true} against local Postgres and Redis to compare {@code POST /bookings} under
+ * {@value #IN_FLIGHT} concurrent requests on Tomcat's platform thread pool and on virtual threads. Every booking
+ * misses the availability replica and waits {@value #EVENT_SERVICE_DELAY_MS} ms for a stubbed event-service, the
+ * kind of blocking call that used to pin one of Tomcat's 200 request threads.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class VirtualThreadLoadBenchmarkTests {
+    private static final int REQUESTS = 4_000;
+    private static final int IN_FLIGHT = 1_000;
+    private static final long EVENT_SERVICE_DELAY_MS = 500;
+    private static final HttpServer EVENT_SERVICE_STUB = startEventServiceStub();
+
+    @AfterAll
+    static void stopStub() {
+        EVENT_SERVICE_STUB.stop(0);
+    }
+
+    @Test
+    void benchmarkPlatformVersusVirtualThreads() throws Exception {
+        measure(false);
+        measure(true);
+    }
+
+    private static void measure(final boolean virtualThreads) throws Exception {
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                new SpringApplicationBuilder(BookingServiceApplication.class).run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--outbox.relay.interval-ms=3600000",
+                        "--event-service.read-timeout-ms=30000",
+                        "--event-service.url=http://localhost:" + EVENT_SERVICE_STUB.getAddress().getPort() + "/api")) {
+            String url = "http://localhost:" + context.getWebServer().getPort() + "/api/bookings";
+            long[] latencies = new long[REQUESTS];
+            Map<String, Integer> failures = new ConcurrentHashMap<>();
+            Semaphore inFlight = new Semaphore(IN_FLIGHT);
+            List<CompletableFuture<?>> responses = new ArrayList<>(REQUESTS);
+            try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
+                long start = System.nanoTime();
+                for (int i = 0; i < REQUESTS; i++) {
+                    int request = i;
+                    inFlight.acquire();
+                    long sent = System.nanoTime();
+                    responses.add(client.sendAsync(booking(url), HttpResponse.BodyHandlers.discarding())
+                            .whenComplete((response, failure) -> {
+                                latencies[request] = System.nanoTime() - sent;
+                                if (failure != null) {
+                                    failures.merge(failure.getClass().getSimpleName(), 1, Integer::sum);
+                                } else if (response.statusCode() != 200) {
+                                    failures.merge("HTTP " + response.statusCode(), 1, Integer::sum);
+                                }
+                                inFlight.release();
+                            }));
+                }
+                CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+                long elapsedNanos = System.nanoTime() - start;
+
+                Arrays.sort(latencies);
+                System.out.printf("%s threads: %,d bookings, %d in flight, %,d ms -> %,d bookings/sec, p50=%d ms,"
+                                + " p99=%d ms, failed: %s%n", virtualThreads ? "virtual" : "platform", REQUESTS,
+                        IN_FLIGHT, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        REQUESTS * TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                        TimeUnit.NANOSECONDS.toMillis(latencies[REQUESTS / 2]),
+                        TimeUnit.NANOSECONDS.toMillis(latencies[REQUESTS * 99 / 100]), failures);
+            } finally {
+                context.getBean(BookingRepository.class).deleteAll();
+            }
+            assertEquals(Map.of(), failures);
+        }
+    }
+
+    private static HttpRequest booking(final String url) {
+        String body = "{\"eventId\":\"" + UUID.randomUUID() + "\",\"ticketId\":\"" + UUID.randomUUID() + "\"}";
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("X-User-Id", UUID.randomUUID().toString())
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpServer startEventServiceStub() {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), IN_FLIGHT);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/api/events/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                String ticketId = path.substring(path.lastIndexOf('/') + 1);
+                byte[] response = ("{\"ticketId\":\"" + ticketId + "\",\"ticketStatus\":\"AVAILABLE\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                try {
+                    Thread.sleep(EVENT_SERVICE_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
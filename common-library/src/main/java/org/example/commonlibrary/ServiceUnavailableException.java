@@ -0,0 +1,7 @@
+package org.example.commonlibrary;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(final String message) {
+        super(message);
+    }
+}
@@ -2,39 +2,149 @@ package org.example.commonlibrary.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.example.commonlibrary.kafka.TypedMessageDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
+/**
+ * Builds the listener containers from {@link KafkaConsumerProperties}. Every service consumes in its own group, and
+ * every listener with an id in a group of its own, so services and listeners never rebalance each other.
+ */
 @Configuration
+@EnableConfigurationProperties(KafkaConsumerProperties.class)
 public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
-    @Value("${spring.kafka.consumer.group-id}")
-    private String groupId;
+    @Value("${spring.application.name:ticket-booking-system}")
+    private String applicationName;
+    @Value("${kafka.topics.partitions:" + KafkaTopicConfig.DEFAULT_PARTITIONS + "}")
+    private int partitions;
+    private final KafkaConsumerProperties properties;
 
+    public KafkaConsumerConfig(final KafkaConsumerProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Values arrive as the typed records registered in {@link TypedMessageDeserializer}. A payload that cannot be
+     * decoded reaches the container as a {@code DeserializationException} instead of failing the whole poll. A group
+     * without committed offsets, such as one a listener joins for the first time, starts from the earliest record
+     * so nothing already on the topic is skipped; {@code auto-offset-reset} overrides that.
+     */
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
+        Map<String, Object> configProps = new HashMap<>(properties.consumerConfigs());
+        configProps.putIfAbsent(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, serviceGroupId());
+        return new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new TypedMessageDeserializer()));
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+        return listenerContainerFactory(false);
+    }
+
+    /**
+     * For listeners every instance runs over the whole topic, such as local replicas. They assign themselves all
+     * partitions through {@code topicPartitions} (see {@link KafkaTopicConfig#partitionsOf}) with
+     * {@code idIsGroup = false}, so they join no consumer group and a restart leaves nothing behind. With no
+     * committed offsets they start from the latest record, on a single thread.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> assignedKafkaListenerContainerFactory() {
+        Map<String, Object> configProps = new HashMap<>(properties.consumerConfigs());
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = listenerContainerFactory(false,
+                new DefaultKafkaConsumerFactory<>(configProps, new StringDeserializer(),
+                        new ErrorHandlingDeserializer<>(new TypedMessageDeserializer())));
+        factory.setConcurrency(1);
+        return factory;
+    }
+
+    /**
+     * Delivers each poll to the listener as one {@code List} so it can be applied with a single write.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory() {
+        return listenerContainerFactory(true);
+    }
+
+    /**
+     * Consumer threads per listener: {@code kafka.consumer.concurrency} when set, otherwise this instance's share of
+     * the topic partitions, so {@code kafka.consumer.instances} replicas together run one thread per partition.
+     * Threads beyond the partition count would sit idle, since a partition is consumed by one thread at a time.
+     */
+    int concurrency() {
+        if (properties.getConcurrency() != null) {
+            return Math.max(1, properties.getConcurrency());
+        }
+        return Math.max(1, Math.ceilDiv(partitions, Math.max(1, properties.getInstances())));
+    }
+
+    /**
+     * Applies the listener's group and {@code kafka.consumer.listeners.<id>} overrides once the factory has built
+     * its container. A group set on the {@code @KafkaListener} itself is kept unless the properties replace it.
+     */
+    void customize(final ConcurrentMessageListenerContainer<String, Object> container) {
+        String listenerId = container.getListenerId();
+        ContainerProperties containerProperties = container.getContainerProperties();
+        if (listenerId != null && listenerId.equals(containerProperties.getGroupId())) {
+            containerProperties.setGroupId(serviceGroupId() + "." + listenerId);
+        }
+        ListenerProperties listener = listenerId == null ? null : properties.getListeners().get(listenerId);
+        if (listener == null) {
+            return;
+        }
+        if (listener.getGroupId() != null) {
+            containerProperties.setGroupId(listener.getGroupId());
+        }
+        if (listener.getConcurrency() != null) {
+            container.setConcurrency(Math.max(1, listener.getConcurrency()));
+        }
+        if (listener.getPollTimeout() != null) {
+            containerProperties.setPollTimeout(listener.getPollTimeout().toMillis());
+        }
+        Properties consumerOverrides = new Properties();
+        consumerOverrides.putAll(containerProperties.getKafkaConsumerProperties());
+        consumerOverrides.putAll(listener.consumerConfigs());
+        containerProperties.setKafkaConsumerProperties(consumerOverrides);
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, Object> listenerContainerFactory(final boolean batch) {
+        return listenerContainerFactory(batch, consumerFactory());
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, Object> listenerContainerFactory(
+            final boolean batch, final ConsumerFactory<String, Object> consumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory
                 = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency());
+        factory.setBatchListener(batch);
+        if (properties.getPollTimeout() != null) {
+            factory.getContainerProperties().setPollTimeout(properties.getPollTimeout().toMillis());
+        }
+        factory.setContainerCustomizer(this::customize);
         return factory;
     }
 
+    private String serviceGroupId() {
+        return properties.getGroupId() != null ? properties.getGroupId() : applicationName;
+    }
 }
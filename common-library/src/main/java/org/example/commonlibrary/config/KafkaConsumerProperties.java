@@ -0,0 +1,30 @@
+package org.example.commonlibrary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service wide consumer settings under {@code kafka.consumer}, with per listener overrides under
+ * {@code kafka.consumer.listeners.<listener id>}, e.g.
+ * <pre>
+ * kafka.consumer.max-poll-records=200
+ * kafka.consumer.listeners.booking-status.concurrency=4
+ * kafka.consumer.listeners.booking-status.max-poll-records=1000
+ * </pre>
+ * The service wide {@code group-id} defaults to {@code spring.application.name}; a listener with an id and no group
+ * of its own consumes in the group {@code <group-id>.<listener id>}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "kafka.consumer")
+public class KafkaConsumerProperties extends ListenerProperties {
+    /**
+     * Replicas of the service sharing the partitions; the default concurrency is this instance's share of them.
+     */
+    private int instances = 1;
+    private Map<String, ListenerProperties> listeners = new LinkedHashMap<>();
+}
@@ -2,6 +2,8 @@ package org.example.commonlibrary.config;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.commonlibrary.kafka.MessageSerializer;
+import org.example.commonlibrary.kafka.TypedMessageDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,25 +14,45 @@ import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Configuration
 public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
+    @Value("${kafka.producer.profile:default}")
+    private String profile;
+    @Value("${kafka.producer.linger-ms:#{null}}")
+    private Integer lingerMs;
+    @Value("${kafka.producer.batch-size:#{null}}")
+    private Integer batchSize;
+    @Value("${kafka.producer.compression-type:#{null}}")
+    private String compressionType;
+    @Value("${kafka.producer.acks:#{null}}")
+    private String acks;
+    @Value("${kafka.producer.binary-topics:}")
+    private Set<String> binaryTopics;
 
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
+        Map<String, Object> configProps = new HashMap<>(ProducerProfile.fromProperty(profile).settings());
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        putIfSet(configProps, ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        putIfSet(configProps, ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        putIfSet(configProps, ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        putIfSet(configProps, ProducerConfig.ACKS_CONFIG, acks);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), new MessageSerializer(
+                binaryTopics, new JsonSerializer<>(TypedMessageDeserializer.objectMapper())));
     }
 
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
-}
-
 
+    private static void putIfSet(final Map<String, Object> configProps, final String key, final Object value) {
+        if (value != null) {
+            configProps.put(key, value);
+        }
+    }
+}
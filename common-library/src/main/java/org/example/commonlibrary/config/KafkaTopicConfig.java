@@ -0,0 +1,61 @@
+package org.example.commonlibrary.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.example.commonlibrary.kafka.TypedMessageDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.stream.IntStream;
+
+/**
+ * Declares the topics of the booking flow so the application's {@link KafkaAdmin} creates them on startup, or adds
+ * partitions when an existing topic has fewer than configured. Every topic gets {@code kafka.topics.partitions}
+ * partitions unless {@code kafka.topics.<topic>.partitions} overrides it. Set {@code kafka.topics.auto-create=false}
+ * when topics are provisioned outside the application.
+ */
+@Configuration
+public class KafkaTopicConfig {
+    public static final int DEFAULT_PARTITIONS = 6;
+
+    @Value("${kafka.topics.auto-create:true}")
+    private boolean autoCreate;
+    @Value("${kafka.topics.partitions:" + DEFAULT_PARTITIONS + "}")
+    private int partitions;
+    @Value("${kafka.topics.replication-factor:1}")
+    private int replicationFactor;
+    private final Environment environment;
+
+    public KafkaTopicConfig(final Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics bookingFlowTopics() {
+        if (!autoCreate) {
+            return new KafkaAdmin.NewTopics();
+        }
+        return new KafkaAdmin.NewTopics(TypedMessageDeserializer.TOPIC_TYPES.keySet().stream()
+                .sorted()
+                .map(topic -> TopicBuilder.name(topic)
+                        .partitions(partitionCount(topic))
+                        .replicas(replicationFactor)
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
+    /**
+     * Every partition of {@code topic}, for listeners that assign them all to themselves, e.g.
+     * {@code partitions = "#{@kafkaTopicConfig.partitionsOf('ticket-released')}"}.
+     */
+    public String[] partitionsOf(final String topic) {
+        return IntStream.range(0, partitionCount(topic)).mapToObj(String::valueOf).toArray(String[]::new);
+    }
+
+    private int partitionCount(final String topic) {
+        return environment.getProperty("kafka.topics." + topic + ".partitions", Integer.class, partitions);
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.commonlibrary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consumer settings of a Kafka listener. Settings left unset fall back to the service wide values in
+ * {@link KafkaConsumerProperties} and then to the Kafka client defaults.
+ */
+@Getter
+@Setter
+public class ListenerProperties {
+    /**
+     * Consumer group. Per listener it replaces the derived {@code <service group>.<listener id>}.
+     */
+    private String groupId;
+    /**
+     * Consumer threads. More threads than partitions leaves the extra threads idle.
+     */
+    private Integer concurrency;
+    /**
+     * Records returned by one poll, and so the largest batch handed to a batch listener.
+     */
+    private Integer maxPollRecords;
+    /**
+     * Bytes the broker waits to collect before answering a fetch, up to {@link #fetchMaxWait}.
+     */
+    private Integer fetchMinBytes;
+    /**
+     * Upper bound of the data returned by one fetch.
+     */
+    private Integer fetchMaxBytes;
+    private Duration fetchMaxWait;
+    /**
+     * How long a poll blocks when no records are available.
+     */
+    private Duration pollTimeout;
+    /**
+     * Where a group without committed offsets starts, {@code earliest} or {@code latest}.
+     */
+    private String autoOffsetReset;
+
+    /**
+     * The Kafka consumer configs of the settings that are set.
+     */
+    public Map<String, Object> consumerConfigs() {
+        Map<String, Object> configs = new HashMap<>();
+        putIfSet(configs, ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        putIfSet(configs, ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        putIfSet(configs, ConsumerConfig.FETCH_MAX_BYTES_CONFIG, fetchMaxBytes);
+        putIfSet(configs, ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWait == null ? null
+                : Math.toIntExact(fetchMaxWait.toMillis()));
+        putIfSet(configs, ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        return configs;
+    }
+
+    private static void putIfSet(final Map<String, Object> configs, final String key, final Object value) {
+        if (value != null) {
+            configs.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.commonlibrary.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named producer tunings selected with {@code kafka.producer.profile}. Individual settings can still be overridden
+ * with {@code kafka.producer.linger-ms}, {@code kafka.producer.batch-size}, {@code kafka.producer.compression-type}
+ * and {@code kafka.producer.acks}.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public enum ProducerProfile {
+    /**
+     * A short linger so bursts share a batch, with the client's default idempotent, acks=all delivery.
+     */
+    DEFAULT(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 5,
+            ProducerConfig.BATCH_SIZE_CONFIG, 65536)),
+    /**
+     * Sends every record immediately in small batches. Delivery stays idempotent and acknowledged by all in-sync
+     * replicas, as the outbox relies on.
+     */
+    LOW_LATENCY(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 0,
+            ProducerConfig.BATCH_SIZE_CONFIG, 16384,
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)),
+    /**
+     * Fills large lz4 compressed batches, trading a few milliseconds of latency for fewer, bigger requests.
+     * Delivery stays idempotent and acknowledged by all in-sync replicas.
+     */
+    HIGH_THROUGHPUT(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 20,
+            ProducerConfig.BATCH_SIZE_CONFIG, 262144,
+            ProducerConfig.BUFFER_MEMORY_CONFIG, 67108864L,
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")),
+    /**
+     * Idempotent delivery acknowledged by all in-sync replicas, so retries never duplicate or reorder a record
+     * within a partition. Without a {@code transactional.id} this is not exactly-once across partitions or producer
+     * restarts. Batches are zstd compressed.
+     */
+    IDEMPOTENT(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 5,
+            ProducerConfig.BATCH_SIZE_CONFIG, 65536,
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+            ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd"));
+
+    private final Map<String, Object> settings;
+
+    ProducerProfile(final Map<String, Object> settings) {
+        this.settings = settings;
+    }
+
+    public Map<String, Object> settings() {
+        return settings;
+    }
+
+    /**
+     * Resolves a profile from its property value, e.g. {@code high-throughput} or {@code IDEMPOTENT}.
+     */
+    public static ProducerProfile fromProperty(final String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
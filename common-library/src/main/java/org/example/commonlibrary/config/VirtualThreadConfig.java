@@ -0,0 +1,70 @@
+package org.example.commonlibrary.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+/**
+ * Opted into with {@code spring.threads.virtual.enabled=true}. Spring Boot then serves Tomcat requests and runs
+ * {@code @Async} and {@code @Scheduled} work on virtual threads; this adds the listener containers of
+ * {@link KafkaConsumerConfig}, which Boot does not build, and resizes the Hikari pool. Blocked requests no longer
+ * hold one of Tomcat's 200 platform threads, so the pool becomes the limit on concurrent database work and is
+ * sized for that with {@code virtual-threads.datasource.maximum-pool-size}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor virtualThreadKafkaListenerPostProcessor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-listener-");
+        executor.setVirtualThreads(true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+                    factory.getContainerProperties().setListenerTaskExecutor(executor);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Configuration
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnClass(HikariDataSource.class)
+    static class HikariPoolSizing {
+        /**
+         * Leaves an explicit {@code spring.datasource.hikari.maximum-pool-size} alone. Otherwise the pool gets
+         * {@code virtual-threads.datasource.maximum-pool-size} connections, by default two per core, the usual
+         * starting point for PostgreSQL, and never fewer than Hikari's default of ten.
+         */
+        @Bean
+        static BeanPostProcessor virtualThreadHikariPostProcessor(final Environment environment) {
+            int poolSize = environment.getProperty("virtual-threads.datasource.maximum-pool-size", Integer.class,
+                    Math.max(HIKARI_DEFAULT_POOL_SIZE, 2 * Runtime.getRuntime().availableProcessors()));
+            boolean explicit = environment.containsProperty("spring.datasource.hikari.maximum-pool-size");
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    if (!explicit && bean instanceof HikariDataSource dataSource) {
+                        LOGGER.info("Sizing {} for virtual threads: {} connections", beanName, poolSize);
+                        dataSource.setMaximumPoolSize(poolSize);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package org.example.commonlibrary.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.example.commonlibrary.kafka.message.BookingFailedMessage;
+import org.example.commonlibrary.kafka.message.BookingRejectedMessage;
+import org.example.commonlibrary.kafka.message.PaymentSuccessMessage;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
+import org.example.commonlibrary.kafka.message.TicketBookedMessage;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
+import org.example.commonlibrary.kafka.message.TicketReservedMessage;
+import org.example.commonlibrary.kafka.message.TicketStatusChangedMessage;
+import org.example.commonlibrary.kafka.message.UserCreatedMessage;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compact binary encoding of the message records. Every payload starts with a three byte header, a
+ * {@link #MAGIC} byte that no JSON document can start with, the schema id and the schema version, followed by
+ * the fields in declaration order. A schema whose layout changes gets a new version while the readers of its older
+ * versions stay registered, so upgraded consumers still read old payloads and older consumers reject new ones
+ * instead of misreading them. UUIDs are written as two longs (the nil UUID stands for {@code null}), strings and lists
+ * as a varint length plus one (zero for {@code null}) followed by their contents, dates as epoch days and
+ * date-times as UTC epoch seconds plus nanos.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public final class BinaryMessageCodec {
+    public static final byte MAGIC = 0;
+    private static final int HEADER_LENGTH = 3;
+    private static final Map<Class<?>, Schema<?>> SCHEMAS_BY_TYPE = new HashMap<>();
+    private static final Map<Integer, Schema<?>> SCHEMAS_BY_ID_AND_VERSION = new HashMap<>();
+
+    static {
+        register(new Schema<>(1, ReserveTicketMessage.class, (message, out) -> {
+            out.writeUuid(message.ticketId());
+            out.writeUuid(message.eventId());
+            out.writeUuid(message.userId());
+            out.writeUuid(message.bookingId());
+        }, in -> new ReserveTicketMessage(readUuid(in), readUuid(in), readUuid(in), readUuid(in))));
+        register(new Schema<>(2, TicketReservedMessage.class, (message, out) -> out.writeUuid(message.bookingId()),
+                in -> new TicketReservedMessage(readUuid(in))));
+        register(new Schema<>(3, BookingFailedMessage.class, (message, out) -> out.writeUuid(message.bookingId()),
+                in -> new BookingFailedMessage(readUuid(in))));
+        register(new Schema<>(4, PaymentSuccessMessage.class, (message, out) -> {
+            out.writeUuid(message.paymentId());
+            out.writeUuid(message.bookingId());
+        }, in -> new PaymentSuccessMessage(readUuid(in), readUuid(in))));
+        register(new Schema<>(5, UserCreatedMessage.class, (message, out) -> {
+            out.writeUuid(message.id());
+            out.writeString(message.email());
+            out.writeString(message.firstname());
+            out.writeString(message.lastname());
+            out.writeDate(message.dateOfBirth());
+            out.writeString(message.gender());
+        }, in -> new UserCreatedMessage(readUuid(in), readString(in), readString(in), readString(in), readDate(in),
+                readString(in))));
+        registerReader(new Schema<>(6, 1, TicketReleasedMessage.class, null,
+                in -> new TicketReleasedMessage(readUuids(in), null)));
+        register(new Schema<>(6, 2, TicketReleasedMessage.class, (message, out) -> {
+            out.writeUuids(message.ticketIds());
+            out.writeDateTime(message.releasedAt());
+        }, in -> new TicketReleasedMessage(readUuids(in), readDateTime(in))));
+        register(new Schema<>(7, TicketStatusChangedMessage.class, (message, out) -> {
+            out.writeUuids(message.ticketIds());
+            out.writeString(message.ticketStatus());
+            out.writeDateTime(message.expirationDate());
+        }, in -> new TicketStatusChangedMessage(readUuids(in), readString(in), readDateTime(in))));
+        // version 1 carried bare ticket ids, which cannot be booked safely without the holding booking
+        register(new Schema<>(8, 2, TicketBookedMessage.class, (message, out) -> {
+            out.writeUuid(message.ticketId());
+            out.writeUuid(message.bookingId());
+        }, in -> new TicketBookedMessage(readUuid(in), readUuid(in))));
+        register(new Schema<>(9, BookingRejectedMessage.class, (message, out) -> out.writeUuid(message.bookingId()),
+                in -> new BookingRejectedMessage(readUuid(in))));
+    }
+
+    private BinaryMessageCodec() {
+    }
+
+    public static boolean supports(final Class<?> type) {
+        return SCHEMAS_BY_TYPE.containsKey(type);
+    }
+
+    public static boolean isBinary(final byte[] data) {
+        return data != null && data.length >= HEADER_LENGTH && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(final Object message) {
+        Schema<?> schema = SCHEMAS_BY_TYPE.get(message.getClass());
+        if (schema == null) {
+            throw new SerializationException("No binary schema for " + message.getClass().getName());
+        }
+        Encoder out = new Encoder();
+        out.writeByte(MAGIC);
+        out.writeByte(schema.id());
+        out.writeByte(schema.version());
+        schema.writeTo(message, out);
+        return out.toByteArray();
+    }
+
+    public static Object decode(final byte[] data) {
+        if (!isBinary(data)) {
+            throw new SerializationException("Payload is not a binary message");
+        }
+        Schema<?> schema = SCHEMAS_BY_ID_AND_VERSION.get(key(data[1], data[2]));
+        if (schema == null) {
+            throw new SerializationException("Unknown binary schema " + data[1] + " version " + data[2]);
+        }
+        try {
+            return schema.reader().apply(ByteBuffer.wrap(data, HEADER_LENGTH, data.length - HEADER_LENGTH));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new SerializationException("Truncated or corrupt " + schema.type().getSimpleName(), e);
+        }
+    }
+
+    private static void register(final Schema<?> schema) {
+        SCHEMAS_BY_TYPE.put(schema.type(), schema);
+        registerReader(schema);
+    }
+
+    /**
+     * Registers a schema only for decoding, for the older versions of a type that is now written with another.
+     */
+    private static void registerReader(final Schema<?> schema) {
+        SCHEMAS_BY_ID_AND_VERSION.put(key(schema.id(), schema.version()), schema);
+    }
+
+    private static int key(final byte id, final byte version) {
+        return (id & 0xFF) << 8 | (version & 0xFF);
+    }
+
+    private static UUID readUuid(final ByteBuffer in) {
+        long most = in.getLong();
+        long least = in.getLong();
+        return most == 0 && least == 0 ? null : new UUID(most, least);
+    }
+
+    private static List<UUID> readUuids(final ByteBuffer in) {
+        int size = readVarint(in) - 1;
+        if (size < 0) {
+            return null;
+        }
+        List<UUID> uuids = new ArrayList<>(Math.min(size, in.remaining() / 16));
+        for (int i = 0; i < size; i++) {
+            uuids.add(readUuid(in));
+        }
+        return uuids;
+    }
+
+    private static String readString(final ByteBuffer in) {
+        int length = readVarint(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static LocalDate readDate(final ByteBuffer in) {
+        int epochDay = in.getInt();
+        return epochDay == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static LocalDateTime readDateTime(final ByteBuffer in) {
+        long epochSecond = in.getLong();
+        int nanos = in.getInt();
+        return epochSecond == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+
+    private static int readVarint(final ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private record Schema<T>(byte id, byte version, Class<T> type, BiConsumer<T, Encoder> writer,
+                             Function<ByteBuffer, T> reader) {
+        Schema(final int id, final Class<T> type, final BiConsumer<T, Encoder> writer,
+               final Function<ByteBuffer, T> reader) {
+            this(id, 1, type, writer, reader);
+        }
+
+        Schema(final int id, final int version, final Class<T> type, final BiConsumer<T, Encoder> writer,
+               final Function<ByteBuffer, T> reader) {
+            this((byte) id, (byte) version, type, writer, reader);
+        }
+
+        void writeTo(final Object message, final Encoder out) {
+            writer.accept(type.cast(message), out);
+        }
+    }
+
+    private static final class Encoder {
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        void writeByte(final int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeUuid(final UUID uuid) {
+            writeLong(uuid == null ? 0 : uuid.getMostSignificantBits());
+            writeLong(uuid == null ? 0 : uuid.getLeastSignificantBits());
+        }
+
+        void writeUuids(final List<UUID> uuids) {
+            writeVarint(uuids == null ? 0 : uuids.size() + 1);
+            if (uuids != null) {
+                uuids.forEach(this::writeUuid);
+            }
+        }
+
+        void writeString(final String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeDate(final LocalDate date) {
+            writeInt(date == null ? Integer.MIN_VALUE : Math.toIntExact(date.toEpochDay()));
+        }
+
+        void writeDateTime(final LocalDateTime dateTime) {
+            writeLong(dateTime == null ? Long.MIN_VALUE : dateTime.toEpochSecond(ZoneOffset.UTC));
+            writeInt(dateTime == null ? 0 : dateTime.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void writeVarint(final int value) {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            writeByte(remaining);
+        }
+
+        private void writeInt(final int value) {
+            ensureCapacity(Integer.BYTES);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeLong(final long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensureCapacity(final int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+}
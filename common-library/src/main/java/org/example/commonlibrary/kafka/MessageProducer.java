@@ -1,21 +1,87 @@
 package org.example.commonlibrary.kafka;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.example.commonlibrary.kafka.message.KeyedMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends messages without blocking the caller. Every send is timed per topic in {@code kafka.producer.send}
+ * and failures are counted per topic and exception in {@code kafka.producer.send.errors}. Callers that need
+ * the outcome use {@link #send}; {@code sendMessage} only logs failed sends. Messages sent without an explicit key
+ * are keyed by {@link #keyFor}.
+ */
 @Component
 public class MessageProducer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageProducer.class);
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
 
-    public MessageProducer(final KafkaTemplate<String, Object> kafkaTemplate) {
+    public MessageProducer(final KafkaTemplate<String, Object> kafkaTemplate,
+                           final ObjectProvider<MeterRegistry> meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
     }
 
     public void sendMessage(final String topic, final Object message) {
-        kafkaTemplate.send(topic, message);
+        sendMessage(topic, keyFor(message), message);
     }
 
     public void sendMessage(final String topic, final String key, final Object message) {
-        kafkaTemplate.send(topic, key, message);
+        send(topic, key, message).whenComplete((result, failure) -> {
+            if (failure != null) {
+                LOGGER.error("Failed to send message to {}", topic, failure);
+            }
+        });
+    }
+
+    public CompletableFuture<SendResult<String, Object>> send(final String topic, final String key,
+                                                               final Object message) {
+        long start = System.nanoTime();
+        try {
+            return kafkaTemplate.send(topic, key, message)
+                    .whenComplete((result, failure) -> record(topic, start, failure));
+        } catch (RuntimeException e) {
+            record(topic, start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * The partition key of a message: its {@link KeyedMessage#messageKey()}, or {@code null} for other payloads.
+     */
+    public static String keyFor(final Object message) {
+        return message instanceof KeyedMessage keyed ? keyed.messageKey() : null;
+    }
+
+    private void record(final String topic, final long start, final Throwable failure) {
+        String outcome = failure == null ? "success" : "failure";
+        Timer.builder("kafka.producer.send")
+                .description("Time from send until the broker acknowledged or the send failed")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            Counter.builder("kafka.producer.send.errors")
+                    .description("Sends that failed, by topic and exception")
+                    .tag("topic", topic)
+                    .tag("exception", cause.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+        }
     }
 }
@@ -0,0 +1,46 @@
+package org.example.commonlibrary.kafka;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Set;
+
+/**
+ * Writes messages on {@code binaryTopics} with {@link BinaryMessageCodec} when their type has a binary schema,
+ * and everything else with the JSON delegate. {@link TypedMessageDeserializer} reads both formats, so topics can
+ * be switched one at a time once every consumer runs a release that understands the binary format.
+ */
+public class MessageSerializer implements Serializer<Object> {
+    private final Set<String> binaryTopics;
+    private final Serializer<Object> jsonSerializer;
+
+    public MessageSerializer(final Set<String> binaryTopics, final Serializer<Object> jsonSerializer) {
+        this.binaryTopics = Set.copyOf(binaryTopics);
+        this.jsonSerializer = jsonSerializer;
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Object data) {
+        if (isBinary(topic, data)) {
+            return BinaryMessageCodec.encode(data);
+        }
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Headers headers, final Object data) {
+        if (isBinary(topic, data)) {
+            return BinaryMessageCodec.encode(data);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+    private boolean isBinary(final String topic, final Object data) {
+        return data != null && binaryTopics.contains(topic) && BinaryMessageCodec.supports(data.getClass());
+    }
+}
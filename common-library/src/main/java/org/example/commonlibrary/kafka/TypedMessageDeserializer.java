@@ -0,0 +1,82 @@
+package org.example.commonlibrary.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.example.commonlibrary.kafka.message.BookingFailedMessage;
+import org.example.commonlibrary.kafka.message.BookingRejectedMessage;
+import org.example.commonlibrary.kafka.message.PaymentSuccessMessage;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
+import org.example.commonlibrary.kafka.message.TicketBookedMessage;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
+import org.example.commonlibrary.kafka.message.TicketReservedMessage;
+import org.example.commonlibrary.kafka.message.TicketStatusChangedMessage;
+import org.example.commonlibrary.kafka.message.UserCreatedMessage;
+import org.example.commonlibrary.kafka.message.UserTokensRevokedMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes each topic's JSON payload straight into its message record with one shared, pre-configured
+ * {@link ObjectMapper}. Readers are built once per type, so decoding allocates nothing but the message itself.
+ * Payloads written by {@link BinaryMessageCodec} are recognised by their header and decoded from the binary
+ * format instead. Topics without a registered type are returned as plain strings.
+ */
+public class TypedMessageDeserializer implements Deserializer<Object> {
+    public static final Map<String, Class<?>> TOPIC_TYPES = Map.of(
+            "reserve-ticket", ReserveTicketMessage.class,
+            "ticket-reserved", TicketReservedMessage.class,
+            "booking-failed", BookingFailedMessage.class,
+            "payment-success", PaymentSuccessMessage.class,
+            "user-created", UserCreatedMessage.class,
+            "ticket-released", TicketReleasedMessage.class,
+            "ticket-status-changed", TicketStatusChangedMessage.class,
+            "ticket-booked", TicketBookedMessage.class,
+            "booking-rejected", BookingRejectedMessage.class,
+            "tokens-revoked", UserTokensRevokedMessage.class);
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final Map<String, ObjectReader> readers = new HashMap<>();
+
+    public TypedMessageDeserializer() {
+        this(TOPIC_TYPES);
+    }
+
+    public TypedMessageDeserializer(final Map<String, Class<?>> topicTypes) {
+        topicTypes.forEach((topic, type) -> readers.put(topic, OBJECT_MAPPER.readerFor(type)));
+    }
+
+    public static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    @Override
+    public Object deserialize(final String topic, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        ObjectReader reader = readers.get(topic);
+        if (reader == null) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        if (BinaryMessageCodec.isBinary(data)) {
+            return BinaryMessageCodec.decode(data);
+        }
+        try {
+            return reader.readValue(data);
+        } catch (IOException e) {
+            throw new SerializationException("Can't deserialize message from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.util.UUID;
+
+public record BookingFailedMessage(UUID bookingId) implements BookingStatusMessage {
+}
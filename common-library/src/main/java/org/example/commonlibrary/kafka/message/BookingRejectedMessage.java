@@ -0,0 +1,10 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.util.UUID;
+
+/**
+ * A paid booking whose ticket had already been released and reserved or booked by another booking, so the booking
+ * cannot be honoured and its payment has to be returned.
+ */
+public record BookingRejectedMessage(UUID bookingId) implements BookingStatusMessage {
+}
@@ -0,0 +1,17 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A message that moves a single booking to a new status. It is keyed by the booking, so the transitions of one
+ * booking stay in order.
+ */
+public interface BookingStatusMessage extends KeyedMessage {
+    UUID bookingId();
+
+    @Override
+    default String messageKey() {
+        return Objects.toString(bookingId(), null);
+    }
+}
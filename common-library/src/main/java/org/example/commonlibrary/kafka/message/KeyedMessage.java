@@ -0,0 +1,25 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A message that names the entity it belongs to. {@code MessageProducer} sends it with {@link #messageKey()} as
+ * the record key, so every message about one ticket or booking lands on the same partition and is consumed in
+ * order, while messages about different entities spread over all partitions.
+ */
+public interface KeyedMessage {
+    /**
+     * The record key, or {@code null} to let the producer spread the message over the partitions.
+     */
+    String messageKey();
+
+    /**
+     * Keys a message about a list of tickets by its ticket when there is exactly one, and leaves it unkeyed
+     * otherwise.
+     */
+    static String singleTicketKey(final List<UUID> ticketIds) {
+        return ticketIds != null && ticketIds.size() == 1 ? Objects.toString(ticketIds.get(0), null) : null;
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.util.UUID;
+
+public record PaymentSuccessMessage(UUID paymentId, UUID bookingId) implements BookingStatusMessage {
+}
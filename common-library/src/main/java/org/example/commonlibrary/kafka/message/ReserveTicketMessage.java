@@ -0,0 +1,11 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.util.Objects;
+import java.util.UUID;
+
+public record ReserveTicketMessage(UUID ticketId, UUID eventId, UUID userId, UUID bookingId) implements KeyedMessage {
+    @Override
+    public String messageKey() {
+        return Objects.toString(ticketId, null);
+    }
+}
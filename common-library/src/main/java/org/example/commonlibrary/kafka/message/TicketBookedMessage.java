@@ -0,0 +1,15 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A paid booking claiming its ticket. event-service books the ticket only while {@code bookingId} still holds its
+ * reservation, and answers with a {@link BookingRejectedMessage} when the reservation went to someone else.
+ */
+public record TicketBookedMessage(UUID ticketId, UUID bookingId) implements KeyedMessage {
+    @Override
+    public String messageKey() {
+        return Objects.toString(ticketId, null);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Expired reservations that event-service returned to AVAILABLE. {@code releasedAt} is when the release ran;
+ * it is {@code null} in messages written before the field existed.
+ */
+public record TicketReleasedMessage(List<UUID> ticketIds, LocalDateTime releasedAt) implements KeyedMessage {
+    @Override
+    public String messageKey() {
+        return KeyedMessage.singleTicketKey(ticketIds);
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.util.UUID;
+
+public record TicketReservedMessage(UUID bookingId) implements BookingStatusMessage {
+}
@@ -0,0 +1,13 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record TicketStatusChangedMessage(List<UUID> ticketIds, String ticketStatus, LocalDateTime expirationDate)
+        implements KeyedMessage {
+    @Override
+    public String messageKey() {
+        return KeyedMessage.singleTicketKey(ticketIds);
+    }
+}
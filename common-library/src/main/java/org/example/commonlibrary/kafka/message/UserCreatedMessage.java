@@ -0,0 +1,13 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+public record UserCreatedMessage(UUID id, String email, String firstname, String lastname, LocalDate dateOfBirth,
+                                 String gender) implements KeyedMessage {
+    @Override
+    public String messageKey() {
+        return Objects.toString(id, null);
+    }
+}
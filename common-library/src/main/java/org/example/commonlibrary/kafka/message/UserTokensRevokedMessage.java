@@ -0,0 +1,15 @@
+package org.example.commonlibrary.kafka.message;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Every access token of {@code userId} issued before {@code revokedAt} is no longer valid.
+ */
+public record UserTokensRevokedMessage(UUID userId, Instant revokedAt) implements KeyedMessage {
+    @Override
+    public String messageKey() {
+        return Objects.toString(userId, null);
+    }
+}
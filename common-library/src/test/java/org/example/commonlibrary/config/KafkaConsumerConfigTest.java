@@ -0,0 +1,138 @@
+package org.example.commonlibrary.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpoint;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class KafkaConsumerConfigTest {
+
+    @Test
+    void runsOneConsumerThreadPerPartitionByDefault() {
+        KafkaConsumerConfig config = config(12, new KafkaConsumerProperties());
+
+        assertEquals(12, config.kafkaListenerContainerFactory().createContainer("reserve-ticket").getConcurrency());
+        assertEquals(12, config.batchKafkaListenerContainerFactory().createContainer("ticket-reserved")
+                .getConcurrency());
+    }
+
+    @Test
+    void splitsPartitionsAcrossInstances() {
+        assertEquals(4, config(12, properties(3, null)).concurrency());
+        assertEquals(3, config(8, properties(3, null)).concurrency());
+        assertEquals(1, config(2, properties(4, null)).concurrency());
+    }
+
+    @Test
+    void explicitConcurrencyWins() {
+        assertEquals(2, config(12, properties(1, 2)).concurrency());
+    }
+
+    @Test
+    void derivesAGroupPerServiceAndListener() {
+        KafkaConsumerConfig config = config(6, new KafkaConsumerProperties());
+
+        assertEquals("booking-service",
+                config.consumerFactory().getConfigurationProperties().get(ConsumerConfig.GROUP_ID_CONFIG));
+        assertEquals("booking-service.booking-status",
+                container(config.batchKafkaListenerContainerFactory(), "booking-status", null).getGroupId());
+        assertEquals("booking-service-availability-1",
+                container(config.kafkaListenerContainerFactory(), "ticket-availability",
+                        "booking-service-availability-1").getGroupId());
+    }
+
+    @Test
+    void newGroupsStartFromTheEarliestRecordUnlessConfiguredOtherwise() {
+        assertEquals("earliest", config(6, new KafkaConsumerProperties()).consumerFactory()
+                .getConfigurationProperties().get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG));
+
+        KafkaConsumerProperties properties = new KafkaConsumerProperties();
+        properties.setAutoOffsetReset("latest");
+        assertEquals("latest", config(6, properties).consumerFactory()
+                .getConfigurationProperties().get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG));
+        assertEquals("latest", config(6, properties).assignedKafkaListenerContainerFactory().getConsumerFactory()
+                .getConfigurationProperties().get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG));
+    }
+
+    @Test
+    void assignedListenersConsumeWithoutAGroupFromTheLatestRecord() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                config(6, new KafkaConsumerProperties()).assignedKafkaListenerContainerFactory();
+
+        assertNull(factory.getConsumerFactory().getConfigurationProperties()
+                .get(ConsumerConfig.GROUP_ID_CONFIG));
+        assertEquals("latest", factory.getConsumerFactory().getConfigurationProperties()
+                .get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG));
+        assertEquals(1, factory.createContainer("ticket-status-changed").getConcurrency());
+    }
+
+    @Test
+    void appliesServiceWideAndPerListenerSettings() {
+        KafkaConsumerProperties properties = new KafkaConsumerProperties();
+        properties.setMaxPollRecords(200);
+        properties.setFetchMaxWait(Duration.ofMillis(100));
+        ListenerProperties bookingStatus = new ListenerProperties();
+        bookingStatus.setGroupId("ticket-booking-system");
+        bookingStatus.setConcurrency(3);
+        bookingStatus.setMaxPollRecords(1000);
+        bookingStatus.setPollTimeout(Duration.ofSeconds(1));
+        properties.getListeners().put("booking-status", bookingStatus);
+        KafkaConsumerConfig config = config(6, properties);
+
+        ConcurrentMessageListenerContainer<String, Object> tuned =
+                container(config.batchKafkaListenerContainerFactory(), "booking-status", null);
+        ConcurrentMessageListenerContainer<String, Object> untouched =
+                container(config.kafkaListenerContainerFactory(), "released-bookings", null);
+
+        assertEquals(200, config.consumerFactory().getConfigurationProperties()
+                .get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+        assertEquals(100, config.consumerFactory().getConfigurationProperties()
+                .get(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG));
+        assertEquals("ticket-booking-system", tuned.getGroupId());
+        assertEquals(3, tuned.getConcurrency());
+        assertEquals(1000L, tuned.getContainerProperties().getPollTimeout());
+        assertEquals(1000, tuned.getContainerProperties().getKafkaConsumerProperties()
+                .get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+        assertEquals(6, untouched.getConcurrency());
+        assertEquals("booking-service.released-bookings", untouched.getGroupId());
+    }
+
+    /**
+     * Builds the container the way {@code @KafkaListener(id = ...)} does, where the id doubles as the group unless
+     * the annotation names one.
+     */
+    private static ConcurrentMessageListenerContainer<String, Object> container(
+            final ConcurrentKafkaListenerContainerFactory<String, Object> factory, final String id,
+            final String groupId) {
+        KafkaListenerEndpoint endpoint = Mockito.mock(KafkaListenerEndpoint.class);
+        Mockito.when(endpoint.getId()).thenReturn(id);
+        Mockito.when(endpoint.getGroupId()).thenReturn(groupId != null ? groupId : id);
+        Mockito.when(endpoint.getTopics()).thenReturn(List.of("ticket-reserved"));
+        Mockito.when(endpoint.getConcurrency()).thenReturn(null);
+        return factory.createListenerContainer(endpoint);
+    }
+
+    private static KafkaConsumerProperties properties(final int instances, final Integer concurrency) {
+        KafkaConsumerProperties properties = new KafkaConsumerProperties();
+        properties.setInstances(instances);
+        properties.setConcurrency(concurrency);
+        return properties;
+    }
+
+    private static KafkaConsumerConfig config(final int partitions, final KafkaConsumerProperties properties) {
+        KafkaConsumerConfig config = new KafkaConsumerConfig(properties);
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(config, "applicationName", "booking-service");
+        ReflectionTestUtils.setField(config, "partitions", partitions);
+        return config;
+    }
+}
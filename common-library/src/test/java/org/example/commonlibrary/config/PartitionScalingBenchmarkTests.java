@@ -0,0 +1,169 @@
+package org.example.commonlibrary.config;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Run with {@code -Dbenchmark=true} to print how consumer throughput grows with the partition count of
+ * {@code reserve-ticket}. Records are partitioned by key exactly like the producer's default partitioner and fed
+ * to containers built by {@link KafkaConsumerConfig} through in-memory consumers, and each record costs a fixed
+ * 2 ms, about one database round trip for the reservation it triggers. The last run keys every record with one
+ * constant, as the booking service used to, and stays at single partition throughput.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PartitionScalingBenchmarkTests {
+    private static final String TOPIC = "reserve-ticket";
+    private static final int MESSAGES = 2_000;
+    private static final int TICKETS = 400;
+    private static final long WORK_MILLIS = 2;
+    private static final long IDLE_POLL_MILLIS = 10;
+
+    @Test
+    void benchmarkConsumerThroughputByPartitions() throws InterruptedException {
+        List<UUID> tickets = new ArrayList<>(TICKETS);
+        for (int i = 0; i < TICKETS; i++) {
+            tickets.add(UUID.randomUUID());
+        }
+        List<ReserveTicketMessage> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(new ReserveTicketMessage(tickets.get(i % TICKETS), UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID()));
+        }
+
+        long single = consume(1, messages, MessageProducer::keyFor);
+        for (int partitions : new int[]{2, 4, 8}) {
+            long throughput = consume(partitions, messages, MessageProducer::keyFor);
+            assertTrue(throughput > single * partitions / 2,
+                    partitions + " partitions should consume at least " + partitions / 2 + "x faster");
+        }
+        long constantKey = consume(8, messages, message -> "ticket-available");
+        assertTrue(constantKey < single * 3 / 2, "a constant key should not scale past one partition");
+    }
+
+    private static long consume(final int partitions, final List<ReserveTicketMessage> messages,
+                                final Function<Object, String> keys) throws InterruptedException {
+        Map<TopicPartition, List<ConsumerRecord<String, Object>>> records = new HashMap<>();
+        for (ReserveTicketMessage message : messages) {
+            String key = keys.apply(message);
+            TopicPartition partition = new TopicPartition(TOPIC,
+                    Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8))) % partitions);
+            List<ConsumerRecord<String, Object>> partitionRecords
+                    = records.computeIfAbsent(partition, p -> new ArrayList<>());
+            partitionRecords.add(new ConsumerRecord<>(TOPIC, partition.partition(), partitionRecords.size(), key,
+                    message));
+        }
+
+        KafkaConsumerConfig config = new KafkaConsumerConfig(new KafkaConsumerProperties());
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(config, "applicationName", "partition-scaling-benchmark");
+        ReflectionTestUtils.setField(config, "partitions", partitions);
+        var factory = config.kafkaListenerContainerFactory();
+        factory.setConsumerFactory(new PreloadedConsumerFactory(records));
+        TopicPartitionOffset[] assignments = new TopicPartitionOffset[partitions];
+        for (int i = 0; i < partitions; i++) {
+            assignments[i] = new TopicPartitionOffset(TOPIC, i, 0L);
+        }
+        ConcurrentMessageListenerContainer<String, Object> container = factory.createContainer(assignments);
+
+        CountDownLatch consumed = new CountDownLatch(messages.size());
+        Map<String, Set<String>> threadsByKey = new ConcurrentHashMap<>();
+        container.setupMessageListener((MessageListener<String, Object>) record -> {
+            threadsByKey.computeIfAbsent(record.key(), key -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            try {
+                Thread.sleep(WORK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumed.countDown();
+        });
+
+        long start = System.nanoTime();
+        long elapsedNanos;
+        container.start();
+        try {
+            assertTrue(consumed.await(1, TimeUnit.MINUTES), "records were not consumed in time");
+            elapsedNanos = System.nanoTime() - start;
+        } finally {
+            container.stop();
+        }
+
+        long throughput = messages.size() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        System.out.printf("%d partitions, %d keys, concurrency %d: %,d records in %d ms -> %,d records/sec%n",
+                partitions, threadsByKey.size(), container.getConcurrency(), messages.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), throughput);
+        threadsByKey.forEach((key, threads) -> assertEquals(1, threads.size(), key + " was consumed by " + threads));
+        return throughput;
+    }
+
+    /**
+     * Hands every container thread a consumer that already holds the records of the partitions it is assigned.
+     */
+    private static final class PreloadedConsumerFactory extends DefaultKafkaConsumerFactory<String, Object> {
+        private final Map<TopicPartition, List<ConsumerRecord<String, Object>>> records;
+
+        PreloadedConsumerFactory(final Map<TopicPartition, List<ConsumerRecord<String, Object>>> records) {
+            super(Map.of());
+            this.records = records;
+        }
+
+        @Override
+        protected Consumer<String, Object> createRawConsumer(final Map<String, Object> configProps) {
+            return new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+                @Override
+                public synchronized void assign(final Collection<TopicPartition> partitions) {
+                    super.assign(partitions);
+                    Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+                    partitions.forEach(partition -> beginningOffsets.put(partition, 0L));
+                    updateBeginningOffsets(beginningOffsets);
+                    partitions.forEach(partition -> records.getOrDefault(partition, List.of()).forEach(this::addRecord));
+                }
+
+                @Override
+                public ConsumerRecords<String, Object> poll(final Duration timeout) {
+                    ConsumerRecords<String, Object> polled = super.poll(timeout);
+                    if (polled.isEmpty()) {
+                        // the mock returns at once when it has nothing, unlike a real consumer
+                        try {
+                            Thread.sleep(Math.min(timeout.toMillis(), IDLE_POLL_MILLIS));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return polled;
+                }
+            };
+        }
+    }
+}
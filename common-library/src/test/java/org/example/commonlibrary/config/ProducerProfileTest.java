@@ -0,0 +1,49 @@
+package org.example.commonlibrary.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProducerProfileTest {
+
+    @Test
+    void resolvesProfilesFromPropertyValues() {
+        assertEquals(ProducerProfile.HIGH_THROUGHPUT, ProducerProfile.fromProperty("high-throughput"));
+        assertEquals(ProducerProfile.IDEMPOTENT, ProducerProfile.fromProperty(" IDEMPOTENT "));
+        assertEquals(ProducerProfile.DEFAULT, ProducerProfile.fromProperty("default"));
+        assertThrows(IllegalArgumentException.class, () -> ProducerProfile.fromProperty("fastest"));
+    }
+
+    @Test
+    void tunedProfilesKeepIdempotentAcksFromAllReplicas() {
+        for (ProducerProfile profile : List.of(ProducerProfile.LOW_LATENCY, ProducerProfile.HIGH_THROUGHPUT,
+                ProducerProfile.IDEMPOTENT)) {
+            assertEquals(true, profile.settings().get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG), profile.name());
+            assertEquals("all", profile.settings().get(ProducerConfig.ACKS_CONFIG), profile.name());
+        }
+    }
+
+    @Test
+    void highThroughputCompressesItsBatches() {
+        assertEquals("lz4", ProducerProfile.HIGH_THROUGHPUT.settings().get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    void everyProfileIsAValidProducerConfiguration() {
+        for (ProducerProfile profile : ProducerProfile.values()) {
+            Map<String, Object> configProps = new HashMap<>(profile.settings());
+            configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+            configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+            configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+            assertDoesNotThrow(() -> new ProducerConfig(configProps), profile.name());
+        }
+    }
+}
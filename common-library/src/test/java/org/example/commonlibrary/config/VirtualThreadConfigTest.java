@@ -0,0 +1,56 @@
+package org.example.commonlibrary.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadConfigTest {
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class, VirtualThreadConfig.HikariPoolSizing.class)
+            .withBean("kafkaListenerContainerFactory", ConcurrentKafkaListenerContainerFactory.class)
+            .withBean("dataSource", HikariDataSource.class, VirtualThreadConfigTest::dataSource)
+            .withPropertyValues("virtual-threads.datasource.maximum-pool-size=40");
+
+    @Test
+    void staysOnPlatformThreadsUnlessEnabled() {
+        runner.run(context -> {
+            assertNull(context.getBean(ConcurrentKafkaListenerContainerFactory.class).getContainerProperties()
+                    .getListenerTaskExecutor());
+            assertEquals(10, context.getBean(HikariDataSource.class).getMaximumPoolSize());
+        });
+    }
+
+    @Test
+    void runsListenersOnVirtualThreadsAndResizesThePool() {
+        runner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            SimpleAsyncTaskExecutor executor = assertInstanceOf(SimpleAsyncTaskExecutor.class,
+                    context.getBean(ConcurrentKafkaListenerContainerFactory.class).getContainerProperties()
+                            .getListenerTaskExecutor());
+            assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get());
+            assertEquals(40, context.getBean(HikariDataSource.class).getMaximumPoolSize());
+        });
+    }
+
+    @Test
+    void keepsAnExplicitPoolSize() {
+        runner.withPropertyValues("spring.threads.virtual.enabled=true",
+                "spring.datasource.hikari.maximum-pool-size=10")
+                .run(context -> assertEquals(10, context.getBean(HikariDataSource.class).getMaximumPoolSize()));
+    }
+
+    /**
+     * Stands in for Boot's binding of {@code spring.datasource.hikari.*}, which this runner does not apply.
+     */
+    private static HikariDataSource dataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(10);
+        return dataSource;
+    }
+}
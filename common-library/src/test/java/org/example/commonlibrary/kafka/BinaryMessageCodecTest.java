@@ -0,0 +1,117 @@
+package org.example.commonlibrary.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.example.commonlibrary.kafka.message.BookingFailedMessage;
+import org.example.commonlibrary.kafka.message.BookingRejectedMessage;
+import org.example.commonlibrary.kafka.message.PaymentSuccessMessage;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
+import org.example.commonlibrary.kafka.message.TicketBookedMessage;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
+import org.example.commonlibrary.kafka.message.TicketReservedMessage;
+import org.example.commonlibrary.kafka.message.TicketStatusChangedMessage;
+import org.example.commonlibrary.kafka.message.UserCreatedMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryMessageCodecTest {
+    private final TypedMessageDeserializer deserializer = new TypedMessageDeserializer();
+    private final MessageSerializer serializer = new MessageSerializer(Set.of("reserve-ticket", "ticket-released"),
+            new JsonSerializer<>(TypedMessageDeserializer.objectMapper()));
+
+    @Test
+    void everyMessageTypeRoundTrips() {
+        List<Object> messages = List.of(
+                new ReserveTicketMessage(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()),
+                new TicketReservedMessage(UUID.randomUUID()),
+                new BookingFailedMessage(UUID.randomUUID()),
+                new PaymentSuccessMessage(UUID.randomUUID(), UUID.randomUUID()),
+                new UserCreatedMessage(UUID.randomUUID(), "jürgen@example.com", "Jürgen", "Ølsen",
+                        LocalDate.of(1990, 2, 28), "MALE"),
+                new TicketReleasedMessage(List.of(UUID.randomUUID(), UUID.randomUUID()),
+                        LocalDateTime.of(2026, 10, 18, 12, 40)),
+                new TicketBookedMessage(UUID.randomUUID(), UUID.randomUUID()),
+                new BookingRejectedMessage(UUID.randomUUID()),
+                new TicketStatusChangedMessage(List.of(UUID.randomUUID()), "RESERVED",
+                        LocalDateTime.of(2026, 10, 18, 12, 30, 15, 123_456_789)));
+        for (Object message : messages) {
+            assertEquals(message, BinaryMessageCodec.decode(BinaryMessageCodec.encode(message)));
+        }
+    }
+
+    @Test
+    void nullFieldsRoundTrip() {
+        UserCreatedMessage user = new UserCreatedMessage(UUID.randomUUID(), "a@b.c", null, "", null, null);
+        TicketStatusChangedMessage status = new TicketStatusChangedMessage(null, "AVAILABLE", null);
+        assertEquals(user, BinaryMessageCodec.decode(BinaryMessageCodec.encode(user)));
+        assertEquals(status, BinaryMessageCodec.decode(BinaryMessageCodec.encode(status)));
+    }
+
+    @Test
+    void readsTicketReleasedPayloadsWrittenWithoutTheReleaseTime() {
+        TicketReleasedMessage released = new TicketReleasedMessage(List.of(UUID.randomUUID()), LocalDateTime.now());
+        byte[] encoded = BinaryMessageCodec.encode(released);
+        byte[] firstVersion = Arrays.copyOf(encoded, encoded.length - Long.BYTES - Integer.BYTES);
+        firstVersion[2] = 1;
+
+        assertEquals(2, encoded[2]);
+        assertEquals(new TicketReleasedMessage(released.ticketIds(), null), BinaryMessageCodec.decode(firstVersion));
+    }
+
+    @Test
+    void rejectsSchemaVersionsItDoesNotKnow() {
+        byte[] encoded = BinaryMessageCodec.encode(new TicketBookedMessage(UUID.randomUUID(), UUID.randomUUID()));
+        encoded[2] = 1;
+
+        assertThrows(SerializationException.class, () -> BinaryMessageCodec.decode(encoded));
+    }
+
+    @Test
+    void serializerUsesBinaryOnlyForConfiguredTopics() {
+        ReserveTicketMessage message = new ReserveTicketMessage(UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID());
+
+        byte[] binary = serializer.serialize("reserve-ticket", message);
+        byte[] json = serializer.serialize("ticket-reserved", new TicketReservedMessage(message.bookingId()));
+
+        assertTrue(BinaryMessageCodec.isBinary(binary));
+        assertEquals(3 + 4 * 16, binary.length);
+        assertEquals("{\"bookingId\":\"" + message.bookingId() + "\"}", new String(json, StandardCharsets.UTF_8));
+        assertEquals(message, deserializer.deserialize("reserve-ticket", binary));
+    }
+
+    @Test
+    void deserializerStillReadsJsonFromProducersThatHaveNotSwitched() {
+        UUID ticketId = UUID.randomUUID();
+        Map<String, Object> legacy = new HashMap<>(Map.of("ticketIds", List.of(ticketId.toString())));
+
+        byte[] json = serializer.serialize("ticket-status-changed", legacy);
+
+        assertEquals(new TicketStatusChangedMessage(List.of(ticketId), null, null),
+                deserializer.deserialize("ticket-status-changed", json));
+    }
+
+    @Test
+    void rejectsUnknownSchemaAndTruncatedPayloads() {
+        byte[] encoded = BinaryMessageCodec.encode(new TicketReservedMessage(UUID.randomUUID()));
+        byte[] unknownVersion = encoded.clone();
+        unknownVersion[2] = 2;
+
+        assertThrows(SerializationException.class, () -> BinaryMessageCodec.decode(unknownVersion));
+        assertThrows(SerializationException.class,
+                () -> BinaryMessageCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.commonlibrary.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a {@code reserve-ticket} payload the way listeners used to, with a {@link StringDeserializer}
+ * and a new {@link ObjectMapper} per message into a {@code HashMap}, against {@link TypedMessageDeserializer}.
+ * Run {@link #main} from the test classpath, e.g. {@code mvn -pl common-library test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=org.example.commonlibrary.kafka.MessageDecodeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class MessageDecodeBenchmark {
+    private static final String TOPIC = "reserve-ticket";
+
+    private byte[] payload;
+    private StringDeserializer stringDeserializer;
+    private TypedMessageDeserializer typedDeserializer;
+
+    @Setup
+    public void setUp() {
+        payload = ("{\"ticketId\":\"" + UUID.randomUUID() + "\",\"eventId\":\"" + UUID.randomUUID()
+                + "\",\"userId\":\"" + UUID.randomUUID() + "\",\"bookingId\":\"" + UUID.randomUUID() + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        stringDeserializer = new StringDeserializer();
+        typedDeserializer = new TypedMessageDeserializer();
+    }
+
+    @Benchmark
+    public UUID mapperPerMessage() throws Exception {
+        String messageString = stringDeserializer.deserialize(TOPIC, payload);
+        ObjectMapper mapper = new ObjectMapper();
+        HashMap<String, String> messageMap = mapper.readValue(messageString, HashMap.class);
+        return UUID.fromString(messageMap.get("bookingId"));
+    }
+
+    @Benchmark
+    public UUID typedDeserializer() {
+        return ((ReserveTicketMessage) typedDeserializer.deserialize(TOPIC, payload)).bookingId();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MessageDecodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
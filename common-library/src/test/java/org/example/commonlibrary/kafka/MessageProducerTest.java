@@ -0,0 +1,93 @@
+package org.example.commonlibrary.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.example.commonlibrary.kafka.message.PaymentSuccessMessage;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
+import org.example.commonlibrary.kafka.message.TicketStatusChangedMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageProducerTest {
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private MeterRegistry meterRegistry;
+    private MessageProducer messageProducer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        messageProducer = new MessageProducer(kafkaTemplate,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                        .getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void recordsSendLatencyPerTopic() {
+        CompletableFuture<SendResult<String, Object>> ack = new CompletableFuture<>();
+        Mockito.when(kafkaTemplate.send("ticket-reserved", "key", "message")).thenReturn(ack);
+
+        CompletableFuture<SendResult<String, Object>> sent = messageProducer.send("ticket-reserved", "key", "message");
+        assertFalse(sent.isDone());
+        assertNull(meterRegistry.find("kafka.producer.send").timer());
+
+        ack.complete(null);
+        assertTrue(sent.isDone());
+        assertEquals(1, meterRegistry.get("kafka.producer.send")
+                .tags("topic", "ticket-reserved", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void countsFailedSendsWithoutThrowingFromSendMessage() {
+        Mockito.when(kafkaTemplate.send("payment-success", null, "message"))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("no broker")));
+
+        messageProducer.sendMessage("payment-success", "message");
+
+        assertEquals(1, meterRegistry.get("kafka.producer.send")
+                .tags("topic", "payment-success", "outcome", "failure").timer().count());
+        assertEquals(1.0, meterRegistry.get("kafka.producer.send.errors")
+                .tags("topic", "payment-success", "exception", "TimeoutException").counter().count());
+    }
+
+    @Test
+    void keysMessagesByTheTicketOrBookingTheyDescribe() {
+        Mockito.when(kafkaTemplate.send(Mockito.anyString(), Mockito.any(), Mockito.any()))
+                .thenReturn(new CompletableFuture<>());
+        ReserveTicketMessage reserve = new ReserveTicketMessage(UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID());
+        PaymentSuccessMessage payment = new PaymentSuccessMessage(UUID.randomUUID(), reserve.bookingId());
+        TicketReleasedMessage released = new TicketReleasedMessage(List.of(UUID.randomUUID(), UUID.randomUUID()),
+                LocalDateTime.now());
+
+        messageProducer.sendMessage("reserve-ticket", reserve);
+        messageProducer.sendMessage("payment-success", payment);
+        messageProducer.sendMessage("ticket-released", released);
+        messageProducer.sendMessage("ticket-status-changed",
+                new TicketStatusChangedMessage(List.of(reserve.ticketId()), "RESERVED", null));
+
+        Mockito.verify(kafkaTemplate).send("reserve-ticket", reserve.ticketId().toString(), reserve);
+        Mockito.verify(kafkaTemplate).send("payment-success", reserve.bookingId().toString(), payment);
+        Mockito.verify(kafkaTemplate).send("ticket-released", null, released);
+        Mockito.verify(kafkaTemplate).send(Mockito.eq("ticket-status-changed"),
+                Mockito.eq(reserve.ticketId().toString()), Mockito.any());
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.commonlibrary.kafka;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.example.commonlibrary.kafka.message.ReserveTicketMessage;
+import org.example.commonlibrary.kafka.message.TicketStatusChangedMessage;
+import org.example.commonlibrary.kafka.message.UserCreatedMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON and binary wire formats of {@link MessageSerializer} and {@link TypedMessageDeserializer}.
+ * {@link #main} prints the payload size of each message in both formats before running the benchmarks, e.g.
+ * {@code mvn -pl common-library test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.example.commonlibrary.kafka.MessageWireFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class MessageWireFormatBenchmark {
+    private static final Map<String, Object> MESSAGES = Map.of(
+            "reserve-ticket",
+            new ReserveTicketMessage(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()),
+            "ticket-status-changed",
+            new TicketStatusChangedMessage(List.of(UUID.randomUUID()), "RESERVED", LocalDateTime.now()),
+            "user-created",
+            new UserCreatedMessage(UUID.randomUUID(), "jane.doe@example.com", "Jane", "Doe",
+                    LocalDate.of(1990, 1, 1), "FEMALE"));
+
+    @Param({"reserve-ticket", "ticket-status-changed", "user-created"})
+    public String topic;
+
+    private Object message;
+    private MessageSerializer jsonSerializer;
+    private MessageSerializer binarySerializer;
+    private TypedMessageDeserializer deserializer;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        message = MESSAGES.get(topic);
+        jsonSerializer = serializer(Set.of());
+        binarySerializer = serializer(MESSAGES.keySet());
+        deserializer = new TypedMessageDeserializer();
+        json = jsonSerializer.serialize(topic, new RecordHeaders(), message);
+        binary = binarySerializer.serialize(topic, new RecordHeaders(), message);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonSerializer.serialize(topic, new RecordHeaders(), message);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binarySerializer.serialize(topic, new RecordHeaders(), message);
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return deserializer.deserialize(topic, json);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return deserializer.deserialize(topic, binary);
+    }
+
+    private static MessageSerializer serializer(final Set<String> binaryTopics) {
+        return new MessageSerializer(binaryTopics, new JsonSerializer<>(TypedMessageDeserializer.objectMapper()));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        MessageSerializer json = serializer(Set.of());
+        MessageSerializer binary = serializer(MESSAGES.keySet());
+        MESSAGES.forEach((topic, message) -> System.out.printf("%s: json=%d bytes, binary=%d bytes%n", topic,
+                json.serialize(topic, message).length, binary.serialize(topic, message).length));
+        new Runner(new OptionsBuilder().include(MessageWireFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -3,6 +3,7 @@ package org.example.eventservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(
         exclude = {
@@ -14,6 +15,7 @@ import org.springframework.context.annotation.ComponentScan;
         "org.example.eventservice",
         "org.example.commonlibrary"
 })
+@EnableScheduling
 
 public class EventServiceApplication {
     public static void main(final String[] args) {
@@ -1,13 +1,21 @@
 package org.example.eventservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.example.eventservice.dto.AddTicketsDto;
 import org.example.eventservice.dto.CreateEventDto;
+import org.example.eventservice.dto.EventPageDto;
 import org.example.eventservice.dto.EventResponseDto;
+import org.example.eventservice.dto.EventSearchDto;
+import org.example.eventservice.dto.TicketAvailabilityDto;
+import org.example.eventservice.dto.TicketLookupDto;
+import org.example.eventservice.dto.TicketPageDto;
 import org.example.eventservice.service.EventService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,35 +27,55 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/events")
 @Tag(name = "Event Controller", description = "Endpoints for managing events")
 public class EventController {
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
     private static final Logger LOGGER =
             LoggerFactory.getLogger(EventController.class);
 
-    public EventController(final EventService eventService) {
+    public EventController(final EventService eventService, final ObjectMapper objectMapper) {
         this.eventService = eventService;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Get all events", description = "Fetches all event records.")
+    @Operation(summary = "Get all events",
+            description = "Fetches all event records. Tickets are only included with `include=tickets`.")
     @GetMapping
-    public ResponseEntity<List<EventResponseDto>> getAllEvents() {
+    public ResponseEntity<List<EventResponseDto>> getAllEvents(@RequestParam(value = "include", required = false)
+                                                               final String include) {
         LOGGER.info("Fetching all events");
-        return ResponseEntity.ok(eventService.getAllEvents());
+        return ResponseEntity.ok(eventService.getAllEvents(includesTickets(include)));
+    }
+
+    @Operation(summary = "Search events",
+            description = "Returns one page of events ordered by start date, optionally filtered by a start date "
+                    + "range (`from` inclusive, `to` exclusive), venue `city`/`country` and `namePrefix`.")
+    @GetMapping(params = "size")
+    public ResponseEntity<EventPageDto> searchEvents(final EventSearchDto search,
+                                                     @RequestParam(value = "page", defaultValue = "0") final int page,
+                                                     @RequestParam("size") final int size) {
+        LOGGER.info("Searching events with {} (page {}, size {})", search, page, size);
+        return ResponseEntity.ok(eventService.searchEvents(search, page, size));
     }
 
     @Operation(summary = "Get event by ID", description = "Retrieves an event record by its unique identifier.")
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponseDto> getEventById(@PathVariable("id") final UUID eventId) {
+    public ResponseEntity<EventResponseDto> getEventById(@PathVariable("id") final UUID eventId,
+                                                         @RequestParam(value = "include", required = false)
+                                                         final String include) {
         LOGGER.info("Fetching event with ID: {}", eventId);
-        Optional<EventResponseDto> event = eventService.getEventById(eventId);
+        Optional<EventResponseDto> event = eventService.getEventById(eventId, includesTickets(include));
         return event.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -99,6 +127,29 @@ public class EventController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Get a page of available tickets for an event",
+            description = "Returns up to `limit` available tickets ordered by ID, starting after `cursor`.")
+    @GetMapping(value = "/{id}/tickets", params = "limit")
+    public ResponseEntity<TicketPageDto> getTicketsForEvent(@PathVariable("id") final UUID eventId,
+                                                            @RequestParam(value = "cursor", required = false)
+                                                            final UUID cursor,
+                                                            @RequestParam("limit") final int limit) {
+        LOGGER.info("Fetching up to {} tickets after {} for event with ID: {}", limit, cursor, eventId);
+        Optional<TicketPageDto> page = eventService.getTicketsForEvent(eventId, cursor, limit);
+        return page.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Get ticket availability for an event",
+            description = "Counts total and available tickets per ticket type and price.")
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<List<TicketAvailabilityDto>> getAvailabilityForEvent(@PathVariable("id") final UUID eventId) {
+        LOGGER.info("Fetching ticket availability for event with ID: {}", eventId);
+        Optional<List<TicketAvailabilityDto>> availability = eventService.getAvailabilityForEvent(eventId);
+        return availability.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PatchMapping("/{id}/tickets/{ticketId}")
     public ResponseEntity<?> reserveEventTicket(@PathVariable("id") final UUID eventId,
                                                 @PathVariable("ticketId") final UUID ticketId,
@@ -121,9 +172,35 @@ public class EventController {
     }
 
     @GetMapping(params = "ids")
-    public ResponseEntity<List<EventResponseDto>> getEventsByIds(@RequestParam("ids") final List<UUID> eventIds) {
+    public ResponseEntity<List<EventResponseDto>> getEventsByIds(@RequestParam("ids") final List<UUID> eventIds,
+                                                                 @RequestParam(value = "include", required = false)
+                                                                 final String include) {
         LOGGER.info("Fetching events with IDs: {}", eventIds);
-        List<EventResponseDto> events = eventService.getEventsByIds(eventIds);
+        List<EventResponseDto> events = eventService.getEventsByIds(eventIds, includesTickets(include));
         return ResponseEntity.ok(events);
     }
+
+    @Operation(summary = "Look up tickets by ID",
+            description = "Returns the type, price, status and event of each posted ticket ID that exists, in no "
+                    + "particular order. Up to 10,000 IDs are looked up in batches and streamed as one JSON array.")
+    @PostMapping("/tickets:batchGet")
+    public ResponseEntity<StreamingResponseBody> getTicketsByIds(@RequestBody final List<UUID> ticketIds) {
+        LOGGER.info("Fetching {} tickets by ID", ticketIds.size());
+        Stream<TicketLookupDto> tickets = eventService.getTicketsByIds(ticketIds);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> {
+                    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                        generator.writeStartArray();
+                        for (Iterator<TicketLookupDto> it = tickets.iterator(); it.hasNext();) {
+                            generator.writeObject(it.next());
+                        }
+                        generator.writeEndArray();
+                    }
+                });
+    }
+
+    private static boolean includesTickets(final String include) {
+        return "tickets".equalsIgnoreCase(include);
+    }
 }
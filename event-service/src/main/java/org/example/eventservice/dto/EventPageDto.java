@@ -0,0 +1,17 @@
+package org.example.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPageDto {
+    private List<EventResponseDto> events;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -1,12 +1,15 @@
 package org.example.eventservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
 public class EventResponseDto {
 
     private UUID id;
@@ -17,8 +20,31 @@ public class EventResponseDto {
 
     private VenueDto venue;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<TicketResponseDto> tickets;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public EventResponseDto(final UUID id, final String name, final LocalDateTime startDate,
+                            final LocalDateTime endDate, final String description, final UUID venueId,
+                            final String venueName, final String venueAddress, final String venueCity,
+                            final String venueState, final String venuePostalCode, final String venueCountry,
+                            final String venueContactPhone, final String venueContactEmail) {
+        this.id = id;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.description = description;
+        this.venue = new VenueDto();
+        this.venue.setVenueId(venueId);
+        this.venue.setName(venueName);
+        this.venue.setAddress(venueAddress);
+        this.venue.setCity(venueCity);
+        this.venue.setState(venueState);
+        this.venue.setPostalCode(venuePostalCode);
+        this.venue.setCountry(venueCountry);
+        this.venue.setContactPhone(venueContactPhone);
+        this.venue.setContactEmail(venueContactEmail);
+    }
 
     @Data
     public static class VenueDto {
@@ -0,0 +1,16 @@
+package org.example.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingReservationDto {
+    private UUID ticketId;
+    private LocalDateTime expirationDate;
+}
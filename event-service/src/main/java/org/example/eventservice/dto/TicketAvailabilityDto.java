@@ -0,0 +1,15 @@
+package org.example.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketAvailabilityDto {
+    private String ticketType;
+    private Double price;
+    private Long total;
+    private Long available;
+}
@@ -0,0 +1,19 @@
+package org.example.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.eventservice.model.TicketStatus;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketLookupDto {
+    private UUID ticketId;
+    private UUID eventId;
+    private String ticketType;
+    private Double price;
+    private TicketStatus ticketStatus;
+}
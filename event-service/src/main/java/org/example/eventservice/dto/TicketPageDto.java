@@ -0,0 +1,16 @@
+package org.example.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketPageDto {
+    private List<EventResponseDto.TicketResponseDto> tickets;
+    private UUID nextCursor;
+}
@@ -35,13 +35,13 @@ public class EventMapper {
         venueDto.setContactEmail(v.getContactEmail());
         dto.setVenue(venueDto);
 
-        List<EventResponseDto.TicketResponseDto> ticketDtos =
-                event.getTickets()
-                        .stream()
-                        .map(EventMapper::mapTicketToDto)
-                        .collect(Collectors.toList());
-        dto.setTickets(ticketDtos);
+        return dto;
+    }
 
+    public static EventResponseDto withTickets(final EventResponseDto dto, final List<Ticket> tickets) {
+        dto.setTickets(tickets.stream()
+                .map(EventMapper::mapTicketToDto)
+                .collect(Collectors.toList()));
         return dto;
     }
 
@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
@@ -22,7 +23,10 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_start_date", columnList = "startDate, id"),
+        @Index(name = "idx_events_venue_id_start_date", columnList = "venue_id, startDate")
+})
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
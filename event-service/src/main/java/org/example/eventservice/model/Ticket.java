@@ -9,6 +9,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -18,7 +19,12 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_event_id_ticket_id", columnList = "eventId, ticketId"),
+        @Index(name = "idx_tickets_event_id_availability",
+                columnList = "eventId, ticketType, price, ticketStatus, expirationDate"),
+        @Index(name = "idx_tickets_status_expiration_date", columnList = "ticketStatus, expirationDate")
+})
 public class Ticket {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -33,5 +39,7 @@ public class Ticket {
     private Event event;
     private LocalDateTime expirationDate;
     private TicketStatus ticketStatus;
+    /** The booking holding the reservation, or {@code null} for a reservation made outside the booking flow. */
+    private UUID bookingId;
 }
 
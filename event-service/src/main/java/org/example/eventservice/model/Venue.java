@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
@@ -23,7 +24,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "venues")
+@Table(name = "venues", indexes = {
+        @Index(name = "idx_venues_city_country", columnList = "city, country"),
+        @Index(name = "idx_venues_country", columnList = "country")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
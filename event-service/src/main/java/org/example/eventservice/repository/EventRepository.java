@@ -1,11 +1,35 @@
 package org.example.eventservice.repository;
 
+import org.example.eventservice.dto.EventResponseDto;
 import org.example.eventservice.model.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, EventSearchRepository {
+    String SUMMARY_SELECT = "SELECT new org.example.eventservice.dto.EventResponseDto("
+            + "e.id, e.name, e.startDate, e.endDate, e.description, v.venueId, v.name, v.address, v.city, "
+            + "v.state, v.postalCode, v.country, v.contactPhone, v.contactEmail) "
+            + "FROM Event e JOIN e.venue v ";
+
+    // description is a large object, which Postgres only streams inside a transaction
+    @Transactional(readOnly = true)
+    @Query(SUMMARY_SELECT + "ORDER BY e.startDate, e.id")
+    List<EventResponseDto> findAllSummaries();
+
+    @Transactional(readOnly = true)
+    @Query(SUMMARY_SELECT + "WHERE e.id IN :ids ORDER BY e.startDate, e.id")
+    List<EventResponseDto> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Transactional(readOnly = true)
+    @Query(SUMMARY_SELECT + "WHERE e.id = :id")
+    Optional<EventResponseDto> findSummaryById(@Param("id") UUID id);
 }
@@ -0,0 +1,10 @@
+package org.example.eventservice.repository;
+
+import org.example.eventservice.dto.EventResponseDto;
+import org.example.eventservice.dto.EventSearchDto;
+
+import java.util.List;
+
+public interface EventSearchRepository {
+    List<EventResponseDto> searchSummaries(EventSearchDto search, int offset, int limit);
+}
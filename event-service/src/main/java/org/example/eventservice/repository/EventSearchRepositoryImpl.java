@@ -0,0 +1,66 @@
+package org.example.eventservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.eventservice.dto.EventResponseDto;
+import org.example.eventservice.dto.EventSearchDto;
+import org.example.eventservice.model.Event;
+import org.example.eventservice.model.Venue;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventSearchRepositoryImpl implements EventSearchRepository {
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventResponseDto> searchSummaries(final EventSearchDto search, final int offset, final int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventResponseDto> query = cb.createQuery(EventResponseDto.class);
+        Root<Event> event = query.from(Event.class);
+        Join<Event, Venue> venue = event.join("venue");
+        query.select(cb.construct(EventResponseDto.class,
+                event.get("id"), event.get("name"), event.get("startDate"), event.get("endDate"),
+                event.get("description"), venue.get("venueId"), venue.get("name"), venue.get("address"),
+                venue.get("city"), venue.get("state"), venue.get("postalCode"), venue.get("country"),
+                venue.get("contactPhone"), venue.get("contactEmail")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (search.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(event.get("startDate"), search.getFrom()));
+        }
+        if (search.getTo() != null) {
+            predicates.add(cb.lessThan(event.get("startDate"), search.getTo()));
+        }
+        if (search.getCity() != null && !search.getCity().isBlank()) {
+            predicates.add(cb.equal(venue.get("city"), search.getCity()));
+        }
+        if (search.getCountry() != null && !search.getCountry().isBlank()) {
+            predicates.add(cb.equal(venue.get("country"), search.getCountry()));
+        }
+        if (search.getNamePrefix() != null && !search.getNamePrefix().isBlank()) {
+            predicates.add(cb.like(event.get("name"), escapeLike(search.getNamePrefix()) + "%", LIKE_ESCAPE));
+        }
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(event.get("startDate")), cb.asc(event.get("id")));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String escapeLike(final String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.eventservice.repository;
+
+import org.example.eventservice.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    @Query(value = "SELECT * FROM outbox_messages WHERE sent_at IS NULL AND failed_at IS NULL "
+            + "AND (claimed_until IS NULL OR claimed_until < :now) ORDER BY created_at "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.claimedUntil = :claimedUntil WHERE m.id IN :ids")
+    int claim(@Param("ids") Collection<UUID> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.sentAt = :sentAt, m.claimedUntil = NULL WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.claimedUntil = NULL WHERE m.id IN :ids")
+    int release(@Param("ids") Collection<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.failedAt = :failedAt, m.failureReason = :reason, m.claimedUntil = NULL "
+            + "WHERE m.id = :id")
+    int markFailed(@Param("id") UUID id, @Param("reason") String reason, @Param("failedAt") LocalDateTime failedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countBySentAtIsNull();
+
+    long countByFailedAtIsNotNull();
+}
@@ -0,0 +1,14 @@
+package org.example.eventservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TicketBatchRepository {
+    int insertTickets(UUID eventId, String ticketType, Double price, int quantity);
+
+    List<UUID> releaseExpiredReservations(LocalDateTime now, int batchSize);
+
+    List<UUID> releaseExpiredReservations(Collection<UUID> ticketIds, LocalDateTime now);
+}
@@ -0,0 +1,118 @@
+package org.example.eventservice.repository;
+
+import org.example.eventservice.model.TicketStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@SuppressWarnings("checkstyle:MagicNumber")
+public class TicketBatchRepositoryImpl implements TicketBatchRepository {
+    private static final String INSERT_TICKET_SQL =
+            "INSERT INTO tickets (ticket_id, event_id, price, ticket_type, ticket_status) VALUES (?, ?, ?, ?, ?)";
+    private static final String LOCK_EXPIRED_RESERVATIONS_SQL =
+            "SELECT ticket_id FROM tickets WHERE ticket_status = :reserved AND expiration_date <= :now "
+                    + "ORDER BY expiration_date LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String LOCK_EXPIRED_TICKETS_SQL =
+            "SELECT ticket_id FROM tickets WHERE ticket_id IN (:ticketIds) AND ticket_status = :reserved "
+                    + "AND expiration_date <= :now FOR UPDATE SKIP LOCKED";
+    private static final String RELEASE_TICKETS_SQL =
+            "UPDATE tickets SET ticket_status = :available, expiration_date = NULL, booking_id = NULL "
+                    + "WHERE ticket_id IN (:ticketIds)";
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${ticket.batch.size:1000}")
+    private Integer batchSize;
+
+    public TicketBatchRepositoryImpl(final JdbcTemplate jdbcTemplate,
+                                     final NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Inserts {@code quantity} AVAILABLE tickets in JDBC batches of {@code ticket.batch.size} rows.
+     * Ids are generated client side and rows are written directly, so neither the event's ticket
+     * collection nor the tickets themselves are ever held in the persistence context.
+     */
+    @Override
+    @Transactional
+    public int insertTickets(final UUID eventId, final String ticketType, final Double price, final int quantity) {
+        int inserted = 0;
+        while (inserted < quantity) {
+            int chunkSize = Math.min(batchSize, quantity - inserted);
+            jdbcTemplate.batchUpdate(INSERT_TICKET_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, eventId);
+                    ps.setDouble(3, price);
+                    ps.setString(4, ticketType);
+                    ps.setInt(5, TicketStatus.AVAILABLE.ordinal());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunkSize;
+                }
+            });
+            inserted += chunkSize;
+        }
+        return inserted;
+    }
+
+    /**
+     * Moves up to {@code limit} expired reservations back to AVAILABLE. Rows are claimed with
+     * {@code FOR UPDATE SKIP LOCKED} so concurrent reapers, or reservations in flight, never block each other.
+     */
+    @Override
+    @Transactional
+    public List<UUID> releaseExpiredReservations(final LocalDateTime now, final int limit) {
+        List<UUID> ticketIds = namedParameterJdbcTemplate.queryForList(LOCK_EXPIRED_RESERVATIONS_SQL,
+                new MapSqlParameterSource()
+                        .addValue("reserved", TicketStatus.RESERVED.ordinal())
+                        .addValue("now", now)
+                        .addValue("limit", limit),
+                UUID.class);
+        if (!ticketIds.isEmpty()) {
+            namedParameterJdbcTemplate.update(RELEASE_TICKETS_SQL, new MapSqlParameterSource()
+                    .addValue("available", TicketStatus.AVAILABLE.ordinal())
+                    .addValue("ticketIds", ticketIds));
+        }
+        return ticketIds;
+    }
+
+    /**
+     * Releases the given tickets if they are still held by a reservation that has expired by {@code now}.
+     * Tickets that were booked, re-reserved, or are locked by another transaction are left untouched.
+     */
+    @Override
+    @Transactional
+    public List<UUID> releaseExpiredReservations(final Collection<UUID> ticketIds, final LocalDateTime now) {
+        if (ticketIds.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> expiredIds = namedParameterJdbcTemplate.queryForList(LOCK_EXPIRED_TICKETS_SQL,
+                new MapSqlParameterSource()
+                        .addValue("ticketIds", ticketIds)
+                        .addValue("reserved", TicketStatus.RESERVED.ordinal())
+                        .addValue("now", now),
+                UUID.class);
+        if (!expiredIds.isEmpty()) {
+            namedParameterJdbcTemplate.update(RELEASE_TICKETS_SQL, new MapSqlParameterSource()
+                    .addValue("available", TicketStatus.AVAILABLE.ordinal())
+                    .addValue("ticketIds", expiredIds));
+        }
+        return expiredIds;
+    }
+}
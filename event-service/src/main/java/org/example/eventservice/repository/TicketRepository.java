@@ -1,9 +1,124 @@
 package org.example.eventservice.repository;
 
+import org.example.eventservice.dto.PendingReservationDto;
+import org.example.eventservice.dto.TicketAvailabilityDto;
+import org.example.eventservice.dto.TicketLookupDto;
 import org.example.eventservice.model.Ticket;
+import org.example.eventservice.model.TicketStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, TicketBatchRepository {
+
+    @Query("SELECT t FROM Ticket t WHERE t.event.id IN :eventIds ORDER BY t.ticketId")
+    List<Ticket> findByEventIdIn(@Param("eventIds") Collection<UUID> eventIds);
+
+    @Query("SELECT new org.example.eventservice.dto.TicketLookupDto(t.ticketId, t.event.id, t.ticketType, t.price, "
+            + "t.ticketStatus) FROM Ticket t WHERE t.ticketId IN :ticketIds")
+    List<TicketLookupDto> findLookupsByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Ticket t SET t.ticketStatus = :reserved, t.expirationDate = :expiresAt, t.bookingId = :bookingId "
+            + "WHERE t.ticketId = :ticketId AND t.event.id = :eventId "
+            + "AND (t.ticketStatus = :available OR (t.ticketStatus = :reserved AND t.expirationDate <= :now))")
+    int reserveIfAvailable(@Param("eventId") UUID eventId,
+                           @Param("ticketId") UUID ticketId,
+                           @Param("bookingId") UUID bookingId,
+                           @Param("now") LocalDateTime now,
+                           @Param("expiresAt") LocalDateTime expiresAt,
+                           @Param("available") TicketStatus available,
+                           @Param("reserved") TicketStatus reserved);
+
+    default int reserveIfAvailable(final UUID eventId, final UUID ticketId, final UUID bookingId,
+                                   final LocalDateTime now, final LocalDateTime expiresAt) {
+        return reserveIfAvailable(eventId, ticketId, bookingId, now, expiresAt, TicketStatus.AVAILABLE,
+                TicketStatus.RESERVED);
+    }
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Ticket t SET t.ticketStatus = :booked, t.expirationDate = NULL "
+            + "WHERE t.ticketId = :ticketId AND t.bookingId = :bookingId AND t.ticketStatus = :reserved")
+    int markBooked(@Param("ticketId") UUID ticketId,
+                   @Param("bookingId") UUID bookingId,
+                   @Param("reserved") TicketStatus reserved,
+                   @Param("booked") TicketStatus booked);
+
+    default int markBooked(final UUID ticketId, final UUID bookingId) {
+        return markBooked(ticketId, bookingId, TicketStatus.RESERVED, TicketStatus.BOOKED);
+    }
+
+    boolean existsByTicketIdAndBookingIdAndTicketStatus(UUID ticketId, UUID bookingId, TicketStatus ticketStatus);
+
+    @Query("SELECT t FROM Ticket t WHERE t.event.id = :eventId "
+            + "AND (t.ticketStatus = :available OR (t.ticketStatus = :reserved AND t.expirationDate <= :now)) "
+            + "ORDER BY t.ticketId")
+    List<Ticket> findAvailableByEventId(@Param("eventId") UUID eventId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("available") TicketStatus available,
+                                        @Param("reserved") TicketStatus reserved,
+                                        Limit limit);
+
+    @Query("SELECT t FROM Ticket t WHERE t.event.id = :eventId AND t.ticketId > :cursor "
+            + "AND (t.ticketStatus = :available OR (t.ticketStatus = :reserved AND t.expirationDate <= :now)) "
+            + "ORDER BY t.ticketId")
+    List<Ticket> findAvailableByEventIdAfter(@Param("eventId") UUID eventId,
+                                             @Param("cursor") UUID cursor,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("available") TicketStatus available,
+                                             @Param("reserved") TicketStatus reserved,
+                                             Limit limit);
+
+    default List<Ticket> findAvailableByEventId(final UUID eventId, final UUID cursor, final LocalDateTime now,
+                                                final Limit limit) {
+        if (cursor == null) {
+            return findAvailableByEventId(eventId, now, TicketStatus.AVAILABLE, TicketStatus.RESERVED, limit);
+        }
+        return findAvailableByEventIdAfter(eventId, cursor, now, TicketStatus.AVAILABLE, TicketStatus.RESERVED,
+                limit);
+    }
+
+    @Query("SELECT new org.example.eventservice.dto.TicketAvailabilityDto(t.ticketType, t.price, COUNT(t), "
+            + "SUM(CASE WHEN t.ticketStatus = :available "
+            + "OR (t.ticketStatus = :reserved AND t.expirationDate <= :now) THEN 1 ELSE 0 END)) "
+            + "FROM Ticket t WHERE t.event.id = :eventId "
+            + "GROUP BY t.ticketType, t.price ORDER BY t.ticketType, t.price")
+    List<TicketAvailabilityDto> summarizeAvailability(@Param("eventId") UUID eventId,
+                                                      @Param("now") LocalDateTime now,
+                                                      @Param("available") TicketStatus available,
+                                                      @Param("reserved") TicketStatus reserved);
+
+    default List<TicketAvailabilityDto> summarizeAvailability(final UUID eventId, final LocalDateTime now) {
+        return summarizeAvailability(eventId, now, TicketStatus.AVAILABLE, TicketStatus.RESERVED);
+    }
+
+    @Query("SELECT MIN(t.expirationDate) FROM Ticket t WHERE t.ticketStatus = :reserved AND t.expirationDate <= :now")
+    Optional<LocalDateTime> findOldestExpiredReservation(@Param("now") LocalDateTime now,
+                                                         @Param("reserved") TicketStatus reserved);
+
+    default Optional<LocalDateTime> findOldestExpiredReservation(final LocalDateTime now) {
+        return findOldestExpiredReservation(now, TicketStatus.RESERVED);
+    }
+
+    @Query("SELECT new org.example.eventservice.dto.PendingReservationDto(t.ticketId, t.expirationDate) "
+            + "FROM Ticket t WHERE t.ticketStatus = :reserved AND t.expirationDate IS NOT NULL "
+            + "AND t.ticketId > :cursor ORDER BY t.ticketId")
+    List<PendingReservationDto> findReservationsAfter(@Param("cursor") UUID cursor,
+                                                      @Param("reserved") TicketStatus reserved,
+                                                      Limit limit);
+
+    default List<PendingReservationDto> findReservationsAfter(final UUID cursor, final Limit limit) {
+        return findReservationsAfter(cursor, TicketStatus.RESERVED, limit);
+    }
 }
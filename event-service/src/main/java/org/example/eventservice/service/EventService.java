@@ -4,9 +4,17 @@ import lombok.RequiredArgsConstructor;
 import org.example.commonlibrary.InvalidActionException;
 import org.example.commonlibrary.NotFoundException;
 import org.example.commonlibrary.ValidationException;
+import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.message.BookingRejectedMessage;
+import org.example.commonlibrary.kafka.message.TicketStatusChangedMessage;
 import org.example.eventservice.dto.AddTicketsDto;
 import org.example.eventservice.dto.CreateEventDto;
+import org.example.eventservice.dto.EventPageDto;
 import org.example.eventservice.dto.EventResponseDto;
+import org.example.eventservice.dto.EventSearchDto;
+import org.example.eventservice.dto.TicketAvailabilityDto;
+import org.example.eventservice.dto.TicketLookupDto;
+import org.example.eventservice.dto.TicketPageDto;
 import org.example.eventservice.model.Venue;
 import org.example.eventservice.model.Event;
 import org.example.eventservice.model.Ticket;
@@ -15,39 +23,82 @@ import org.example.eventservice.mapper.EventMapper;
 import org.example.eventservice.repository.EventRepository;
 import org.example.eventservice.repository.TicketRepository;
 import org.example.eventservice.repository.VenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
 public class EventService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventService.class);
+    private static final int MAX_TICKET_PAGE_SIZE = 500;
+    private static final int MAX_EVENT_PAGE_SIZE = 100;
+    private static final int MAX_TICKET_LOOKUP_SIZE = 10_000;
     private final EventRepository eventRepository;
     private final TicketRepository ticketRepository;
     private final VenueRepository venueRepository;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final MessageProducer messageProducer;
+    private final OutboxService outboxService;
 
     @Value("${ticket.expiration.duration.minutes}")
     private Integer ticketExpirationDurationMinutes;
+    @Value("${ticket.lookup.batch-size:1000}")
+    private Integer ticketLookupBatchSize;
 
-    public List<EventResponseDto> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(EventMapper::toDto)
-                .toList();
+    public List<EventResponseDto> getAllEvents(final boolean includeTickets) {
+        List<EventResponseDto> events = eventRepository.findAllSummaries();
+        return includeTickets ? attachTickets(events) : events;
+    }
+
+    public EventPageDto searchEvents(final EventSearchDto search, final int page, final int size) {
+        if (page < 0) {
+            throw new ValidationException("Page must not be negative");
+        }
+        if (size <= 0 || size > MAX_EVENT_PAGE_SIZE) {
+            throw new ValidationException("Size must be between 1 and " + MAX_EVENT_PAGE_SIZE);
+        }
+        long offset = (long) page * size;
+        if (offset + size + 1 > Integer.MAX_VALUE) {
+            throw new ValidationException("Page must be at most " + (Integer.MAX_VALUE - size - 1) / size);
+        }
+        List<EventResponseDto> events = eventRepository.searchSummaries(search, (int) offset, size + 1);
+        boolean hasNext = events.size() > size;
+        return new EventPageDto(hasNext ? events.subList(0, size) : events, page, size, hasNext);
     }
 
-    public Optional<EventResponseDto> getEventById(final UUID id) {
-        Optional<Event> event = eventRepository.findById(id);
+    public Optional<EventResponseDto> getEventById(final UUID id, final boolean includeTickets) {
+        Optional<EventResponseDto> event = eventRepository.findSummaryById(id);
         if (event.isEmpty()) {
             throw new NotFoundException("Event Not Found");
         }
-        return Optional.of(EventMapper.toDto(event.get()));
+        return Optional.of(includeTickets ? attachTickets(List.of(event.get())).get(0) : event.get());
+    }
+
+    private List<EventResponseDto> attachTickets(final List<EventResponseDto> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        Map<UUID, List<Ticket>> ticketsByEvent = ticketRepository
+                .findByEventIdIn(events.stream().map(EventResponseDto::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(t -> t.getEvent().getId()));
+        return events.stream()
+                .map(e -> EventMapper.withTickets(e, ticketsByEvent.getOrDefault(e.getId(), List.of())))
+                .toList();
     }
 
     public Optional<EventResponseDto> createEvent(final CreateEventDto dto, final UUID creatorId,
@@ -88,45 +139,56 @@ public class EventService {
         if (dto.getPrice() <= 0) {
             throw new ValidationException("Invalid ticket price");
         }
-        Optional<Event> eventOptional = eventRepository.findById(eventId);
-        if (eventOptional.isEmpty()) {
+        if (!eventRepository.existsById(eventId)) {
             throw new NotFoundException("Event Not Found");
         }
-        Event event = eventOptional.get();
-        for (int i = 0; i < dto.getQuantity(); i++) {
-            Ticket ticket = new Ticket();
-            ticket.setEvent(event);
-            ticket.setPrice(dto.getPrice());
-            ticket.setTicketType(dto.getTicketType());
-            ticket.setTicketStatus(TicketStatus.AVAILABLE);
-            ticket.setEvent(event);
-            event.addTicket(ticket);
-
-            ticketRepository.save(ticket);
-        }
-        eventRepository.save(event);
-        return Optional.of(dto.getQuantity());
+        long start = System.nanoTime();
+        int created = ticketRepository.insertTickets(eventId, dto.getTicketType(), dto.getPrice(), dto.getQuantity());
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        LOGGER.info("Created {} tickets for event {} in {} ms ({} tickets/sec)", created, eventId,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), created * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        return Optional.of(created);
     }
 
     public Optional<List<EventResponseDto.TicketResponseDto>> getTicketsForEvent(final UUID eventId) {
-        Optional<Event> eventOptional = eventRepository.findById(eventId);
-        if (eventOptional.isEmpty()) {
+        if (!eventRepository.existsById(eventId)) {
             throw new NotFoundException("Event Not Found");
         }
-        Event event = eventOptional.get();
-        List<EventResponseDto.TicketResponseDto> ticketDtos = event.getTickets()
-                .stream().filter(t -> (t.getTicketStatus() == TicketStatus.AVAILABLE
-                        || (t.getTicketStatus() == TicketStatus.RESERVED && t.getExpirationDate() != null
-                                && t.getExpirationDate().isAfter(LocalDateTime.now()))))
+        List<EventResponseDto.TicketResponseDto> ticketDtos = ticketRepository
+                .findAvailableByEventId(eventId, null, LocalDateTime.now(), Limit.unlimited())
+                .stream()
                 .map(EventMapper::mapTicketToDto)
                 .toList();
         return Optional.of(ticketDtos);
     }
 
+    public Optional<TicketPageDto> getTicketsForEvent(final UUID eventId, final UUID cursor, final int limit) {
+        if (limit <= 0 || limit > MAX_TICKET_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_TICKET_PAGE_SIZE);
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Event Not Found");
+        }
+        List<EventResponseDto.TicketResponseDto> ticketDtos = ticketRepository
+                .findAvailableByEventId(eventId, cursor, LocalDateTime.now(), Limit.of(limit))
+                .stream()
+                .map(EventMapper::mapTicketToDto)
+                .toList();
+        UUID nextCursor = ticketDtos.size() == limit ? ticketDtos.get(limit - 1).getTicketId() : null;
+        return Optional.of(new TicketPageDto(ticketDtos, nextCursor));
+    }
+
+    public Optional<List<TicketAvailabilityDto>> getAvailabilityForEvent(final UUID eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Event Not Found");
+        }
+        return Optional.of(ticketRepository.summarizeAvailability(eventId, LocalDateTime.now()));
+    }
+
     private boolean availableTicket(final Ticket ticket) {
         return ticket.getTicketStatus() == TicketStatus.AVAILABLE
                 || (ticket.getTicketStatus() == TicketStatus.RESERVED
-                && ticket.getExpirationDate() != null && ticket.getExpirationDate().isAfter(LocalDateTime.now()));
+                && ticket.getExpirationDate() != null && !ticket.getExpirationDate().isAfter(LocalDateTime.now()));
     }
 
     private void validTicket(final UUID eventId, final UUID ticketId) {
@@ -145,14 +207,50 @@ public class EventService {
     }
 
     public Optional<String> reserveEventTicket(final UUID eventId, final UUID ticketId, final String userId) {
-        isTicketAvailable(eventId, ticketId);
-        Ticket ticket = ticketRepository.findById(ticketId).get();
-        ticket.setTicketStatus(TicketStatus.RESERVED);
-        ticket.setExpirationDate(LocalDateTime.now().plusMinutes(ticketExpirationDurationMinutes));
-        ticketRepository.save(ticket);
+        return reserveEventTicket(eventId, ticketId, userId, null);
+    }
+
+    /**
+     * Reserves the ticket for {@code bookingId}, which is recorded on the ticket so only that booking can book it
+     * later, see {@link #bookTicket}.
+     */
+    public Optional<String> reserveEventTicket(final UUID eventId, final UUID ticketId, final String userId,
+                                               final UUID bookingId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusMinutes(ticketExpirationDurationMinutes);
+        int reserved = ticketRepository.reserveIfAvailable(eventId, ticketId, bookingId, now, expiresAt);
+        if (reserved == 0) {
+            validTicket(eventId, ticketId);
+            throw new InvalidActionException("Ticket is not available for reservation");
+        }
+        reservationExpiryScheduler.schedule(ticketId, expiresAt);
+        messageProducer.sendMessage("ticket-status-changed",
+                new TicketStatusChangedMessage(List.of(ticketId), TicketStatus.RESERVED.name(), expiresAt));
         return Optional.of("Ticket reserved successfully");
     }
 
+    /**
+     * Marks a paid-for ticket as BOOKED so neither the reaper nor the expiry scheduler releases it, provided
+     * {@code bookingId} still holds its reservation. If the reservation was released and taken by another booking
+     * in the meantime, the payment cannot be honoured and a booking-rejected message is queued for the paid
+     * booking instead. A redelivered message for a ticket the booking already has is ignored.
+     *
+     * @return whether the ticket was booked by this call
+     */
+    @Transactional
+    public boolean bookTicket(final UUID ticketId, final UUID bookingId) {
+        if (ticketRepository.markBooked(ticketId, bookingId) > 0) {
+            messageProducer.sendMessage("ticket-status-changed",
+                    new TicketStatusChangedMessage(List.of(ticketId), TicketStatus.BOOKED.name(), null));
+            return true;
+        }
+        if (!ticketRepository.existsByTicketIdAndBookingIdAndTicketStatus(ticketId, bookingId, TicketStatus.BOOKED)) {
+            LOGGER.warn("Ticket {} is no longer held by paid booking {}, rejecting the booking", ticketId, bookingId);
+            outboxService.enqueue("booking-rejected", new BookingRejectedMessage(bookingId));
+        }
+        return false;
+    }
+
     public Optional<Boolean> isTicketAvailable(final UUID eventId, final UUID ticketId) {
         validTicket(eventId, ticketId);
         Optional<Ticket> ticketOptional = ticketRepository.findById(ticketId);
@@ -163,17 +261,13 @@ public class EventService {
         return Optional.of(true);
     }
 
-    public List<EventResponseDto> getEventsByIds(final List<UUID> eventIds) {
-        List<Event> events = eventRepository.findAllById(eventIds);
-        Set<UUID> foundIds = events.stream().map(Event::getId).collect(Collectors.toSet());
-        Set<UUID> missingIds = new HashSet<>(eventIds);
-        missingIds.removeAll(foundIds);
-        if (!missingIds.isEmpty()) {
-            throw new NotFoundException("Events not found for IDs: " + missingIds);
-        }
-        return events.stream()
-                .map(EventMapper::toDto)
-                .toList();
+    /**
+     * Looks up every event of {@code eventIds} that exists. Unknown IDs are left out rather than failing the whole
+     * lookup, so a deleted event does not hide the others.
+     */
+    public List<EventResponseDto> getEventsByIds(final List<UUID> eventIds, final boolean includeTickets) {
+        List<EventResponseDto> events = eventRepository.findSummariesByIdIn(eventIds);
+        return includeTickets ? attachTickets(events) : events;
     }
 
     public Optional<EventResponseDto.TicketResponseDto> getTicketById(final UUID eventId, final UUID ticketId) {
@@ -182,4 +276,21 @@ public class EventService {
         Ticket ticket = ticketOptional.get();
         return Optional.of(EventMapper.mapTicketToDto(ticket));
     }
+
+    /**
+     * Looks the tickets up {@code ticket.lookup.batch-size} IDs per query. The queries run lazily as the returned
+     * stream is consumed, so a caller writing the results out as it goes never holds more than one batch.
+     * Unknown IDs are left out rather than failing the whole lookup.
+     */
+    public Stream<TicketLookupDto> getTicketsByIds(final List<UUID> ticketIds) {
+        if (ticketIds.size() > MAX_TICKET_LOOKUP_SIZE) {
+            throw new ValidationException("At most " + MAX_TICKET_LOOKUP_SIZE + " tickets can be looked up at once");
+        }
+        List<UUID> distinctIds = ticketIds.stream().distinct().toList();
+        int batches = (distinctIds.size() + ticketLookupBatchSize - 1) / ticketLookupBatchSize;
+        return IntStream.range(0, batches)
+                .mapToObj(batch -> distinctIds.subList(batch * ticketLookupBatchSize,
+                        Math.min(distinctIds.size(), (batch + 1) * ticketLookupBatchSize)))
+                .flatMap(batch -> ticketRepository.findLookupsByTicketIdIn(batch).stream());
+    }
 }
@@ -0,0 +1,157 @@
+package org.example.eventservice.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel keyed by an arbitrary id. A timer hashes into one of {@code wheelSize} slots by its
+ * deadline tick and carries the number of full revolutions left before it is due, so scheduling and
+ * cancelling are O(1) no matter how many timers are pending. The wheel has no clock of its own: callers
+ * pass the current time in milliseconds to {@link #advance(long)}, and a timer never fires before its deadline.
+ */
+public final class HashedTimingWheel<K> {
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final Slot<K>[] slots;
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private long nextTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(final long tickMillis, final int wheelSize, final long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new Slot[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new Slot<>();
+        }
+    }
+
+    /**
+     * Schedules {@code key} to expire at {@code deadlineMillis}, replacing any timer already pending for it.
+     */
+    public synchronized void schedule(final K key, final long deadlineMillis) {
+        Timer<K> timer = timers.get(key);
+        if (timer == null) {
+            timer = new Timer<>(key);
+            timers.put(key, timer);
+        } else {
+            timer.slot.remove(timer);
+        }
+        place(timer, deadlineMillis);
+    }
+
+    /**
+     * Schedules {@code key} only if no timer is pending for it yet.
+     */
+    public synchronized boolean scheduleIfAbsent(final K key, final long deadlineMillis) {
+        if (timers.containsKey(key)) {
+            return false;
+        }
+        Timer<K> timer = new Timer<>(key);
+        timers.put(key, timer);
+        place(timer, deadlineMillis);
+        return true;
+    }
+
+    public synchronized boolean cancel(final K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.slot.remove(timer);
+        return true;
+    }
+
+    public synchronized boolean isScheduled(final K key) {
+        return timers.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Processes every tick that has elapsed by {@code nowMillis} and returns the keys whose deadline has passed.
+     */
+    public synchronized List<K> advance(final long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        while (startMillis + nextTick * tickMillis <= nowMillis) {
+            Slot<K> slot = slots[(int) (nextTick & mask)];
+            Timer<K> timer = slot.head;
+            while (timer != null) {
+                Timer<K> next = timer.next;
+                if (timer.remainingRounds <= 0) {
+                    slot.remove(timer);
+                    timers.remove(timer.key);
+                    expired.add(timer.key);
+                } else {
+                    timer.remainingRounds--;
+                }
+                timer = next;
+            }
+            nextTick++;
+        }
+        return expired;
+    }
+
+    private void place(final Timer<K> timer, final long deadlineMillis) {
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis - startMillis, tickMillis), nextTick);
+        timer.remainingRounds = (deadlineTick - nextTick) / slots.length;
+        slots[(int) (deadlineTick & mask)].add(timer);
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private long remainingRounds;
+        private Slot<K> slot;
+        private Timer<K> prev;
+        private Timer<K> next;
+
+        private Timer(final K key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Slot<K> {
+        private Timer<K> head;
+        private Timer<K> tail;
+
+        private void add(final Timer<K> timer) {
+            timer.slot = this;
+            timer.prev = tail;
+            timer.next = null;
+            if (tail == null) {
+                head = timer;
+            } else {
+                tail.next = timer;
+            }
+            tail = timer;
+        }
+
+        private void remove(final Timer<K> timer) {
+            if (timer.prev == null) {
+                head = timer.next;
+            } else {
+                timer.prev.next = timer.next;
+            }
+            if (timer.next == null) {
+                tail = timer.prev;
+            } else {
+                timer.next.prev = timer.prev;
+            }
+            timer.slot = null;
+            timer.prev = null;
+            timer.next = null;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.eventservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.eventservice.model.OutboxMessage;
+import org.example.eventservice.repository.OutboxMessageRepository;
+import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.TypedMessageDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox to Kafka. Each batch is claimed in a short transaction with {@code FOR UPDATE SKIP LOCKED},
+ * which stamps the rows with a lease of twice the send timeout instead of holding their locks. The batch is then
+ * sent without waiting between records so the producer can fill its batches, and the acknowledged rows are marked
+ * sent with one UPDATE. A failed send releases its row for the next run, so delivery is at-least-once; a row that
+ * cannot be sent at all, because its payload is unreadable or the producer rejects it outright, is marked failed
+ * and left in the table for inspection instead of blocking the rows behind it.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final MessageProducer messageProducer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:1000}")
+    private Integer batchSize;
+    @Value("${outbox.relay.max-batches-per-run:20}")
+    private Integer maxBatchesPerRun;
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private Long sendTimeoutMs;
+    @Value("${outbox.retention-hours:24}")
+    private Integer retentionHours;
+
+    public OutboxRelay(final OutboxMessageRepository outboxMessageRepository, final MessageProducer messageProducer,
+                       final ObjectMapper objectMapper, final TransactionTemplate transactionTemplate) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.messageProducer = messageProducer;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:100}")
+    public int relay() {
+        int relayed = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<OutboxMessage> claimed = transactionTemplate.execute(status -> claimBatch());
+            if (claimed == null || claimed.isEmpty()) {
+                break;
+            }
+            relayed += relayBatch(claimed);
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
+        if (relayed > 0) {
+            LOGGER.debug("Relayed {} outbox messages", relayed);
+        }
+        return relayed;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup.interval-ms:3600000}")
+    public int deleteSentMessages() {
+        return outboxMessageRepository.deleteSentBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = outboxMessageRepository.lockClaimable(now, batchSize);
+        if (!messages.isEmpty()) {
+            outboxMessageRepository.claim(messages.stream().map(OutboxMessage::getId).toList(),
+                    now.plus(Duration.ofMillis(sendTimeoutMs).multipliedBy(2)));
+        }
+        return messages;
+    }
+
+    private int relayBatch(final List<OutboxMessage> messages) {
+        List<OutboxMessage> sending = new ArrayList<>(messages.size());
+        List<CompletableFuture<?>> sends = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            try {
+                sends.add(messageProducer.send(message.getTopic(), message.getMessageKey(), readPayload(message)));
+                sending.add(message);
+            } catch (RuntimeException e) {
+                LOGGER.error("Outbox message {} to {} cannot be sent, marking it failed", message.getId(),
+                        message.getTopic(), e);
+                outboxMessageRepository.markFailed(message.getId(), String.valueOf(e.getMessage()),
+                        LocalDateTime.now());
+            }
+        }
+        List<UUID> sentIds = new ArrayList<>(sending.size());
+        List<UUID> retryIds = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < sending.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                sentIds.add(sending.get(i).getId());
+            } catch (ExecutionException | TimeoutException e) {
+                LOGGER.warn("Failed to relay outbox message {} to {}", sending.get(i).getId(),
+                        sending.get(i).getTopic(), e);
+                retryIds.add(sending.get(i).getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboxMessageRepository.markSent(sentIds, LocalDateTime.now());
+        }
+        if (!retryIds.isEmpty()) {
+            outboxMessageRepository.release(retryIds);
+        }
+        return sentIds.size();
+    }
+
+    /**
+     * Restores the message record for topics that have one, so the producer can pick the topic's wire format,
+     * and falls back to a plain JSON tree for everything else.
+     */
+    private Object readPayload(final OutboxMessage message) {
+        Class<?> type = TypedMessageDeserializer.TOPIC_TYPES.get(message.getTopic());
+        try {
+            return type == null ? objectMapper.readTree(message.getPayload())
+                    : objectMapper.readValue(message.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox message " + message.getId() + " has an unreadable payload", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.eventservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
+import org.example.eventservice.dto.PendingReservationDto;
+import org.example.eventservice.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the expiration of every live reservation in a {@link HashedTimingWheel} so tickets go back to
+ * AVAILABLE within one tick of their deadline. The wheel is rebuilt from RESERVED rows on startup;
+ * {@link TicketReservationReaper} still sweeps the table for anything this instance did not schedule. Like the
+ * reaper, each batch queues its ticket-released message in the outbox within the release transaction.
+ */
+@Component
+public class ReservationExpiryScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationExpiryScheduler.class);
+    private static final UUID FIRST_CURSOR = new UUID(0L, 0L);
+    private final TicketRepository ticketRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final HashedTimingWheel<UUID> wheel;
+    private final ScheduledExecutorService ticker;
+    private final long tickMillis;
+    private final Counter releasedCounter;
+
+    @Value("${ticket.expiry.rebuild-page-size:10000}")
+    private Integer rebuildPageSize;
+    @Value("${ticket.expiry.release-batch-size:500}")
+    private Integer releaseBatchSize;
+
+    public ReservationExpiryScheduler(final TicketRepository ticketRepository, final OutboxService outboxService,
+                                      final TransactionTemplate transactionTemplate,
+                                      final MeterRegistry meterRegistry,
+                                      @Value("${ticket.expiry.tick-ms:200}") final long tickMillis,
+                                      @Value("${ticket.expiry.wheel-size:512}") final int wheelSize) {
+        this.ticketRepository = ticketRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.tickMillis = tickMillis;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.releasedCounter = Counter.builder("tickets.expiry.released")
+                .description("Reservations returned to AVAILABLE by the expiry timing wheel")
+                .register(meterRegistry);
+        meterRegistry.gauge("tickets.expiry.pending", wheel, HashedTimingWheel::size);
+    }
+
+    public void schedule(final UUID ticketId, final LocalDateTime expiresAt) {
+        wheel.schedule(ticketId, toEpochMillis(expiresAt));
+    }
+
+    public boolean cancel(final UUID ticketId) {
+        return wheel.cancel(ticketId);
+    }
+
+    public boolean isScheduled(final UUID ticketId) {
+        return wheel.isScheduled(ticketId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+        ticker.scheduleWithFixedDelay(this::releaseDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads every RESERVED ticket into the wheel. Reservations scheduled while the rebuild is running keep
+     * their own, newer deadline.
+     */
+    public int rebuild() {
+        int loaded = 0;
+        UUID cursor = FIRST_CURSOR;
+        while (true) {
+            List<PendingReservationDto> page = ticketRepository.findReservationsAfter(cursor,
+                    Limit.of(rebuildPageSize));
+            for (PendingReservationDto reservation : page) {
+                if (wheel.scheduleIfAbsent(reservation.getTicketId(), toEpochMillis(reservation.getExpirationDate()))) {
+                    loaded++;
+                }
+            }
+            if (page.size() < rebuildPageSize) {
+                break;
+            }
+            cursor = page.get(page.size() - 1).getTicketId();
+        }
+        LOGGER.info("Rebuilt reservation expiry wheel with {} pending reservations", loaded);
+        return loaded;
+    }
+
+    public int releaseDue() {
+        try {
+            List<UUID> due = wheel.advance(System.currentTimeMillis());
+            int released = 0;
+            for (int from = 0; from < due.size(); from += releaseBatchSize) {
+                LocalDateTime now = LocalDateTime.now();
+                List<UUID> batch = due.subList(from, Math.min(from + releaseBatchSize, due.size()));
+                List<UUID> ticketIds = transactionTemplate.execute(status -> {
+                    List<UUID> releasedIds = ticketRepository.releaseExpiredReservations(batch, now);
+                    if (!releasedIds.isEmpty()) {
+                        outboxService.enqueue("ticket-released", new TicketReleasedMessage(releasedIds, now));
+                    }
+                    return releasedIds;
+                });
+                released += ticketIds == null ? 0 : ticketIds.size();
+            }
+            releasedCounter.increment(released);
+            return released;
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to release expired reservations, leaving them to the reaper", e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    private static long toEpochMillis(final LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.eventservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
+import org.example.eventservice.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sweeps the table for expired reservations and returns them to AVAILABLE in batches. Each batch queues its
+ * ticket-released message in the outbox within the release transaction, so booking-service hears of every release
+ * even when Kafka is unavailable at the time.
+ */
+@Component
+public class TicketReservationReaper {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TicketReservationReaper.class);
+    private final TicketRepository ticketRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter releasedCounter;
+    private final DistributionSummary releasedPerRun;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Value("${ticket.reaper.batch-size:500}")
+    private Integer batchSize;
+    @Value("${ticket.reaper.max-batches-per-run:20}")
+    private Integer maxBatchesPerRun;
+
+    public TicketReservationReaper(final TicketRepository ticketRepository, final OutboxService outboxService,
+                                   final TransactionTemplate transactionTemplate, final MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.releasedCounter = Counter.builder("tickets.reaper.released")
+                .description("Expired reservations returned to AVAILABLE")
+                .register(meterRegistry);
+        this.releasedPerRun = DistributionSummary.builder("tickets.reaper.released.per.run")
+                .description("Expired reservations released by a single reaper run")
+                .register(meterRegistry);
+        meterRegistry.gauge("tickets.reaper.lag.seconds", lagSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.reaper.interval-ms:5000}")
+    public int releaseExpiredReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        lagSeconds.set(ticketRepository.findOldestExpiredReservation(now)
+                .map(oldest -> Duration.between(oldest, now).toSeconds())
+                .orElse(0L));
+        int released = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<UUID> ticketIds = transactionTemplate.execute(status -> {
+                List<UUID> releasedIds = ticketRepository.releaseExpiredReservations(now, batchSize);
+                if (!releasedIds.isEmpty()) {
+                    outboxService.enqueue("ticket-released", new TicketReleasedMessage(releasedIds, now));
+                }
+                return releasedIds;
+            });
+            if (ticketIds == null || ticketIds.isEmpty()) {
+                break;
+            }
+            released += ticketIds.size();
+            if (ticketIds.size() < batchSize) {
+                break;
+            }
+        }
+        releasedCounter.increment(released);
+        releasedPerRun.record(released);
+        if (released > 0) {
+            LOGGER.info("Released {} expired ticket reservations (lag {}s)", released, lagSeconds.get());
+        }
+        return released;
+    }
+}
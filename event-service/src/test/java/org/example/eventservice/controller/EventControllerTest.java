@@ -1,10 +1,20 @@
 package org.example.eventservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.commonlibrary.ValidationException;
 import org.example.eventservice.dto.AddTicketsDto;
 import org.example.eventservice.dto.CreateEventDto;
+import org.example.eventservice.dto.EventPageDto;
 import org.example.eventservice.dto.EventResponseDto;
+import org.example.eventservice.dto.TicketAvailabilityDto;
+import org.example.eventservice.dto.TicketLookupDto;
+import org.example.eventservice.dto.TicketPageDto;
+import org.example.eventservice.model.TicketStatus;
 import org.example.eventservice.service.EventService;
+import org.example.eventservice.service.OutboxRelay;
+import org.example.eventservice.service.OutboxService;
+import org.example.eventservice.service.ReservationExpiryScheduler;
+import org.example.eventservice.service.TicketReservationReaper;
 import org.example.eventservice.service.VenueService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,9 +24,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.*;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,21 +44,53 @@ class EventControllerTest {
     private EventService eventService;
     @MockBean
     private VenueService venueService;
+    @MockBean
+    private TicketReservationReaper ticketReservationReaper;
+    @MockBean
+    private ReservationExpiryScheduler reservationExpiryScheduler;
+    @MockBean
+    private OutboxService outboxService;
+    @MockBean
+    private OutboxRelay outboxRelay;
 
     @Test
     @DisplayName("Should return all events")
     void testGetAllEvents() throws Exception {
-        Mockito.when(eventService.getAllEvents()).thenReturn(Collections.emptyList());
+        Mockito.when(eventService.getAllEvents(false)).thenReturn(Collections.emptyList());
         mockMvc.perform(get("/events"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("Should return all events with tickets when requested")
+    void testGetAllEventsIncludingTickets() throws Exception {
+        Mockito.when(eventService.getAllEvents(true)).thenReturn(List.of(new EventResponseDto()));
+        mockMvc.perform(get("/events").param("include", "tickets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+        Mockito.verify(eventService).getAllEvents(true);
+    }
+
+    @Test
+    @DisplayName("Should return a filtered page of events")
+    void testSearchEvents() throws Exception {
+        EventPageDto page = new EventPageDto(Collections.emptyList(), 0, 20, false);
+        Mockito.when(eventService.searchEvents(any(), eq(0), eq(20))).thenReturn(page);
+        mockMvc.perform(get("/events")
+                        .param("city", "Cairo")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events").isArray())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
     @Test
     @DisplayName("Should return event by ID if found")
     void testGetEventByIdFound() throws Exception {
         UUID id = UUID.randomUUID();
         EventResponseDto response = new EventResponseDto();
-        Mockito.when(eventService.getEventById(id)).thenReturn(Optional.of(response));
+        Mockito.when(eventService.getEventById(id, false)).thenReturn(Optional.of(response));
         mockMvc.perform(get("/events/" + id))
                 .andExpect(status().isOk());
     }
@@ -55,7 +99,7 @@ class EventControllerTest {
     @DisplayName("Should return 404 if event by ID not found")
     void testGetEventByIdNotFound() throws Exception {
         UUID id = UUID.randomUUID();
-        Mockito.when(eventService.getEventById(id)).thenReturn(Optional.empty());
+        Mockito.when(eventService.getEventById(id, false)).thenReturn(Optional.empty());
         mockMvc.perform(get("/events/" + id))
                 .andExpect(status().isNotFound());
     }
@@ -174,6 +218,80 @@ class EventControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should return a page of tickets for event if found")
+    void testGetTicketPageForEventFound() throws Exception {
+        UUID eventId = UUID.randomUUID();
+        UUID cursor = UUID.randomUUID();
+        TicketPageDto page = new TicketPageDto(new ArrayList<>(), null);
+        Mockito.when(eventService.getTicketsForEvent(eventId, cursor, 50)).thenReturn(Optional.of(page));
+        mockMvc.perform(get("/events/" + eventId + "/tickets")
+                        .param("cursor", cursor.toString())
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets").isArray());
+    }
+
+    @Test
+    @DisplayName("Should return 404 if ticket page for event not found")
+    void testGetTicketPageForEventNotFound() throws Exception {
+        UUID eventId = UUID.randomUUID();
+        Mockito.when(eventService.getTicketsForEvent(eventId, null, 50)).thenReturn(Optional.empty());
+        mockMvc.perform(get("/events/" + eventId + "/tickets")
+                        .param("limit", "50"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return ticket availability summary for event if found")
+    void testGetAvailabilityForEventFound() throws Exception {
+        UUID eventId = UUID.randomUUID();
+        List<TicketAvailabilityDto> availability = List.of(new TicketAvailabilityDto("VIP", 100.0, 10L, 4L));
+        Mockito.when(eventService.getAvailabilityForEvent(eventId)).thenReturn(Optional.of(availability));
+        mockMvc.perform(get("/events/" + eventId + "/availability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].available").value(4));
+    }
+
+    @Test
+    @DisplayName("Should return 404 if availability for event not found")
+    void testGetAvailabilityForEventNotFound() throws Exception {
+        UUID eventId = UUID.randomUUID();
+        Mockito.when(eventService.getAvailabilityForEvent(eventId)).thenReturn(Optional.empty());
+        mockMvc.perform(get("/events/" + eventId + "/availability"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should stream looked up tickets as a JSON array")
+    void testGetTicketsByIds() throws Exception {
+        UUID eventId = UUID.randomUUID();
+        UUID ticketId = UUID.randomUUID();
+        Mockito.when(eventService.getTicketsByIds(List.of(ticketId))).thenReturn(
+                Stream.of(new TicketLookupDto(ticketId, eventId, "VIP", 100.0, TicketStatus.AVAILABLE)));
+        MvcResult result = mockMvc.perform(post("/events/tickets:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(ticketId))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketId").value(ticketId.toString()))
+                .andExpect(jsonPath("$[0].eventId").value(eventId.toString()))
+                .andExpect(jsonPath("$[0].ticketStatus").value("AVAILABLE"));
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket lookup over the size limit")
+    void testGetTicketsByIdsTooMany() throws Exception {
+        Mockito.when(eventService.getTicketsByIds(anyList()))
+                .thenThrow(new ValidationException("At most 10000 tickets can be looked up at once"));
+        mockMvc.perform(post("/events/tickets:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should reserve event ticket if found")
     void testReserveEventTicketFound() throws Exception {
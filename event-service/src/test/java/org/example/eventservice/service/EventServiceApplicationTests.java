@@ -1,33 +1,58 @@
 package org.example.eventservice.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.commonlibrary.InvalidActionException;
+import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.message.TicketReleasedMessage;
+import org.example.commonlibrary.kafka.message.TicketStatusChangedMessage;
 import org.example.eventservice.dto.CreateEventDto;
 import org.example.eventservice.dto.CreateVenueDto;
+import org.example.eventservice.dto.EventResponseDto;
+import org.example.eventservice.dto.TicketLookupDto;
 import org.example.eventservice.model.Event;
 import org.example.eventservice.model.Ticket;
 import org.example.eventservice.model.TicketStatus;
 import org.example.eventservice.model.Venue;
 import org.example.eventservice.repository.EventRepository;
+import org.example.eventservice.repository.OutboxMessageRepository;
 import org.example.eventservice.repository.TicketRepository;
 import org.example.eventservice.repository.VenueRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {"outbox.relay.interval-ms=3600000", "ticket.reaper.interval-ms=3600000"})
 @AutoConfigureMockMvc
 public class EventServiceApplicationTests {
     @Autowired
@@ -40,6 +65,20 @@ public class EventServiceApplicationTests {
     private TicketRepository ticketRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TicketReservationReaper ticketReservationReaper;
+    @Autowired
+    private ReservationExpiryScheduler reservationExpiryScheduler;
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @MockBean
+    private MessageProducer messageProducer;
 
     private Venue testVenue;
 
@@ -48,6 +87,8 @@ public class EventServiceApplicationTests {
         eventRepository.deleteAll();
         venueRepository.deleteAll();
         ticketRepository.deleteAll();
+        outboxMessageRepository.deleteAll();
+        Mockito.when(messageProducer.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
         testVenue = new Venue();
         testVenue.setName("Test Venue");
         testVenue.setAddress("123 Main St");
@@ -61,6 +102,7 @@ public class EventServiceApplicationTests {
         eventRepository.deleteAll();
         venueRepository.deleteAll();
         ticketRepository.deleteAll();
+        outboxMessageRepository.deleteAll();
     }
 
     @Test
@@ -70,6 +112,14 @@ public class EventServiceApplicationTests {
         assertThat(mockMvc).isNotNull();
     }
 
+    @Test
+    void testSearchRejectsPagesPastTheLargestOffset() throws Exception {
+        mockMvc.perform(get("/events")
+                        .param("page", String.valueOf(Integer.MAX_VALUE))
+                        .param("size", "100"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testCreateAndGetEventIntegration() throws Exception {
         venueRepository.save(testVenue);
@@ -363,4 +413,414 @@ public class EventServiceApplicationTests {
         mockMvc.perform(get("/events/" + event.getId() + "/tickets/" + ticket.getTicketId() + "/available"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void testConcurrentReservationsReserveTicketOnlyOnce() throws Exception {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent6");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event for contended ticket");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        Ticket ticket = new Ticket();
+        ticket.setTicketType("VIP");
+        ticket.setPrice(100.0);
+        ticket.setTicketStatus(TicketStatus.AVAILABLE);
+        ticket.setEvent(event);
+        ticketRepository.save(ticket);
+
+        int attempts = 2000;
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            tasks.add(() -> {
+                try {
+                    eventService.reserveEventTicket(event.getId(), ticket.getTicketId(), UUID.randomUUID().toString());
+                    reserved.incrementAndGet();
+                } catch (InvalidActionException ignored) {
+                    // lost the race
+                }
+                return null;
+            });
+        }
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(reserved.get()).isEqualTo(1);
+        Ticket stored = ticketRepository.findById(ticket.getTicketId()).orElseThrow();
+        assertThat(stored.getTicketStatus()).isEqualTo(TicketStatus.RESERVED);
+        assertThat(stored.getExpirationDate()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void testGetTicketPagesForEventIntegration() throws Exception {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent7");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event for paged tickets");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        ticketRepository.insertTickets(event.getId(), "GENERAL", 25.0, 5);
+
+        String firstPage = mockMvc.perform(get("/events/" + event.getId() + "/tickets").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets").value(hasSize(3)))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/events/" + event.getId() + "/tickets")
+                        .param("cursor", cursor)
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets").value(hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    void testGetAvailabilityForEventIntegration() throws Exception {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent8");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event for availability");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        ticketRepository.insertTickets(event.getId(), "REGULAR", 50.0, 3);
+        ticketRepository.insertTickets(event.getId(), "VIP", 100.0, 2);
+        Ticket reserved = ticketRepository.findAvailableByEventId(event.getId(), null, LocalDateTime.now(),
+                Limit.unlimited()).stream().filter(t -> t.getTicketType().equals("VIP")).findFirst().orElseThrow();
+        eventService.reserveEventTicket(event.getId(), reserved.getTicketId(), UUID.randomUUID().toString());
+
+        mockMvc.perform(get("/events/" + event.getId() + "/availability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasSize(2)))
+                .andExpect(jsonPath("$[0].ticketType").value("REGULAR"))
+                .andExpect(jsonPath("$[0].total").value(3))
+                .andExpect(jsonPath("$[0].available").value(3))
+                .andExpect(jsonPath("$[1].ticketType").value("VIP"))
+                .andExpect(jsonPath("$[1].total").value(2))
+                .andExpect(jsonPath("$[1].available").value(1));
+    }
+
+    @Test
+    void testListingEventsDoesNotLoadTickets() {
+        venueRepository.save(testVenue);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Event event = new Event();
+            event.setName("Listed Event " + i);
+            event.setStartDate(LocalDateTime.now().plusDays(1));
+            event.setEndDate(LocalDateTime.now().plusDays(2));
+            event.setCreatorId(UUID.randomUUID());
+            event.setVenue(testVenue);
+            events.add(event);
+        }
+        eventRepository.saveAll(events);
+        for (int i = 0; i < 10; i++) {
+            ticketRepository.insertTickets(events.get(i).getId(), "GENERAL", 10.0, 5);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        List<EventResponseDto> summaries = eventService.getAllEvents(false);
+        assertThat(summaries).hasSize(1000);
+        assertThat(summaries).allMatch(e -> e.getTickets() == null && e.getVenue().getName().equals("Test Venue"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        List<EventResponseDto> detailed = eventService.getAllEvents(true);
+        assertThat(detailed.stream().mapToInt(e -> e.getTickets().size()).sum()).isEqualTo(50);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void testSearchEventsIntegration() throws Exception {
+        venueRepository.save(testVenue);
+        Venue otherVenue = new Venue();
+        otherVenue.setName("Other Venue");
+        otherVenue.setAddress("9 Side St");
+        otherVenue.setCity("Other City");
+        otherVenue.setCountry("USA");
+        venueRepository.save(otherVenue);
+        LocalDateTime base = LocalDateTime.now().plusDays(10).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            Event event = new Event();
+            event.setName((i % 2 == 0 ? "Rock Night " : "Jazz Night ") + i);
+            event.setStartDate(base.plusDays(i));
+            event.setEndDate(base.plusDays(i).plusHours(3));
+            event.setCreatorId(UUID.randomUUID());
+            event.setVenue(i < 4 ? testVenue : otherVenue);
+            eventRepository.save(event);
+        }
+
+        mockMvc.perform(get("/events")
+                        .param("city", "Test City")
+                        .param("from", base.plusDays(1).toString())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events").value(hasSize(2)))
+                .andExpect(jsonPath("$.events[0].name").value("Jazz Night 1"))
+                .andExpect(jsonPath("$.events[1].name").value("Rock Night 2"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        mockMvc.perform(get("/events")
+                        .param("city", "Test City")
+                        .param("from", base.plusDays(1).toString())
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events").value(hasSize(1)))
+                .andExpect(jsonPath("$.events[0].name").value("Jazz Night 3"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/events")
+                        .param("namePrefix", "Rock")
+                        .param("country", "USA")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events").value(hasSize(3)));
+    }
+
+    @Test
+    void testGetEventsByIdsLeavesOutUnknownEvents() throws Exception {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("BatchEvent1");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event next to a deleted one");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+
+        mockMvc.perform(get("/events")
+                        .param("ids", event.getId() + "," + UUID.randomUUID()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("BatchEvent1"));
+    }
+
+    @Test
+    void testReaperReleasesExpiredReservations() {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent9");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event for expired reservations");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        Ticket expired = new Ticket();
+        expired.setTicketType("VIP");
+        expired.setPrice(100.0);
+        expired.setTicketStatus(TicketStatus.RESERVED);
+        expired.setExpirationDate(LocalDateTime.now().minusMinutes(1));
+        expired.setEvent(event);
+        ticketRepository.save(expired);
+        Ticket held = new Ticket();
+        held.setTicketType("VIP");
+        held.setPrice(100.0);
+        held.setTicketStatus(TicketStatus.RESERVED);
+        held.setExpirationDate(LocalDateTime.now().plusMinutes(5));
+        held.setEvent(event);
+        ticketRepository.save(held);
+
+        ticketReservationReaper.releaseExpiredReservations();
+
+        Ticket released = ticketRepository.findById(expired.getTicketId()).orElseThrow();
+        assertThat(released.getTicketStatus()).isEqualTo(TicketStatus.AVAILABLE);
+        assertThat(released.getExpirationDate()).isNull();
+        assertThat(ticketRepository.findById(held.getTicketId()).orElseThrow().getTicketStatus())
+                .isEqualTo(TicketStatus.RESERVED);
+        Mockito.verify(messageProducer, Mockito.never()).sendMessage(eq("ticket-released"), any());
+        assertThat(outboxMessageRepository.findAll()).singleElement()
+                .satisfies(queued -> assertThat(queued.getTopic()).isEqualTo("ticket-released"));
+
+        assertThat(outboxRelay.relay()).isEqualTo(1);
+        Mockito.verify(messageProducer).send(eq("ticket-released"), eq(expired.getTicketId().toString()),
+                argThat(message -> ((TicketReleasedMessage) message).ticketIds()
+                        .equals(List.of(expired.getTicketId()))));
+    }
+
+    @Test
+    void testReaperNeverReleasesBookedTickets() {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent11");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event for paid reservations");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        Ticket paid = new Ticket();
+        paid.setTicketType("VIP");
+        paid.setPrice(100.0);
+        paid.setTicketStatus(TicketStatus.RESERVED);
+        paid.setExpirationDate(LocalDateTime.now().minusMinutes(1));
+        paid.setBookingId(UUID.randomUUID());
+        paid.setEvent(event);
+        ticketRepository.save(paid);
+
+        assertThat(eventService.bookTicket(paid.getTicketId(), paid.getBookingId())).isTrue();
+        ticketReservationReaper.releaseExpiredReservations();
+
+        Ticket booked = ticketRepository.findById(paid.getTicketId()).orElseThrow();
+        assertThat(booked.getTicketStatus()).isEqualTo(TicketStatus.BOOKED);
+        assertThat(booked.getExpirationDate()).isNull();
+        assertThat(eventService.bookTicket(paid.getTicketId(), paid.getBookingId())).isFalse();
+        Mockito.verify(messageProducer).sendMessage(eq("ticket-status-changed"),
+                eq(new TicketStatusChangedMessage(List.of(paid.getTicketId()), "BOOKED", null)));
+        assertThat(outboxMessageRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void testLatePaymentForATicketReservedByAnotherBookingIsRejected() {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent12");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event for late payments");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        UUID lateBookingId = UUID.randomUUID();
+        UUID newBookingId = UUID.randomUUID();
+        Ticket ticket = new Ticket();
+        ticket.setTicketType("VIP");
+        ticket.setPrice(100.0);
+        ticket.setTicketStatus(TicketStatus.RESERVED);
+        ticket.setExpirationDate(LocalDateTime.now().minusMinutes(1));
+        ticket.setBookingId(lateBookingId);
+        ticket.setEvent(event);
+        ticketRepository.save(ticket);
+
+        eventService.reserveEventTicket(event.getId(), ticket.getTicketId(), UUID.randomUUID().toString(),
+                newBookingId);
+
+        assertThat(eventService.bookTicket(ticket.getTicketId(), lateBookingId)).isFalse();
+        Ticket reserved = ticketRepository.findById(ticket.getTicketId()).orElseThrow();
+        assertThat(reserved.getTicketStatus()).isEqualTo(TicketStatus.RESERVED);
+        assertThat(reserved.getBookingId()).isEqualTo(newBookingId);
+        assertThat(outboxMessageRepository.findAll()).singleElement().satisfies(message -> {
+            assertThat(message.getTopic()).isEqualTo("booking-rejected");
+            assertThat(message.getMessageKey()).isEqualTo(lateBookingId.toString());
+        });
+        assertThat(eventService.bookTicket(ticket.getTicketId(), newBookingId)).isTrue();
+    }
+
+    @Test
+    void testExpiryWheelReleasesReservationAtItsDeadline() throws Exception {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent10");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event for timed expirations");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        ticketRepository.insertTickets(event.getId(), "GENERAL", 25.0, 1);
+        UUID ticketId = ticketRepository.findAvailableByEventId(event.getId(), null, LocalDateTime.now(),
+                Limit.unlimited()).get(0).getTicketId();
+
+        eventService.reserveEventTicket(event.getId(), ticketId, UUID.randomUUID().toString());
+        assertThat(reservationExpiryScheduler.isScheduled(ticketId)).isTrue();
+
+        LocalDateTime deadline = LocalDateTime.now().plusNanos(300_000_000);
+        Ticket ticket = ticketRepository.findById(ticketId).orElseThrow();
+        ticket.setExpirationDate(deadline);
+        ticketRepository.save(ticket);
+        reservationExpiryScheduler.schedule(ticketId, deadline);
+
+        long giveUpAt = System.currentTimeMillis() + 1_500;
+        while (ticketRepository.findById(ticketId).orElseThrow().getTicketStatus() != TicketStatus.AVAILABLE
+                && System.currentTimeMillis() < giveUpAt) {
+            Thread.sleep(50);
+        }
+        assertThat(ticketRepository.findById(ticketId).orElseThrow().getTicketStatus())
+                .isEqualTo(TicketStatus.AVAILABLE);
+        assertThat(reservationExpiryScheduler.isScheduled(ticketId)).isFalse();
+        assertThat(outboxMessageRepository.findAll()).singleElement().satisfies(queued -> {
+            assertThat(queued.getTopic()).isEqualTo("ticket-released");
+            assertThat(queued.getMessageKey()).isEqualTo(ticketId.toString());
+        });
+    }
+
+    @Test
+    void testExpiryWheelRebuildsFromReservedTickets() {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent11");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setDescription("Event for rebuilt expirations");
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        Ticket held = new Ticket();
+        held.setTicketType("VIP");
+        held.setPrice(100.0);
+        held.setTicketStatus(TicketStatus.RESERVED);
+        held.setExpirationDate(LocalDateTime.now().plusMinutes(5));
+        held.setEvent(event);
+        ticketRepository.save(held);
+        ticketRepository.insertTickets(event.getId(), "GENERAL", 25.0, 3);
+
+        assertThat(reservationExpiryScheduler.rebuild()).isEqualTo(1);
+        assertThat(reservationExpiryScheduler.isScheduled(held.getTicketId())).isTrue();
+        reservationExpiryScheduler.cancel(held.getTicketId());
+    }
+
+    @Test
+    void testGetTicketsByIdsIntegration() throws Exception {
+        venueRepository.save(testVenue);
+        Event event = new Event();
+        event.setName("TicketEvent12");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(testVenue);
+        eventRepository.save(event);
+        ticketRepository.insertTickets(event.getId(), "GENERAL", 25.0, 2500);
+        List<UUID> ticketIds = new ArrayList<>(ticketRepository.findByEventIdIn(List.of(event.getId())).stream()
+                .map(Ticket::getTicketId).toList());
+        ticketIds.add(UUID.randomUUID());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        List<TicketLookupDto> tickets = eventService.getTicketsByIds(ticketIds).toList();
+        assertThat(tickets).hasSize(2500);
+        assertThat(tickets).allMatch(t -> t.getEventId().equals(event.getId())
+                && t.getTicketStatus() == TicketStatus.AVAILABLE && t.getPrice() == 25.0);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        statistics.setStatisticsEnabled(false);
+
+        MvcResult result = mockMvc.perform(post("/events/tickets:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticketIds.subList(0, 2))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(hasSize(2)))
+                .andExpect(jsonPath("$[0].ticketType").value("GENERAL"));
+    }
 }
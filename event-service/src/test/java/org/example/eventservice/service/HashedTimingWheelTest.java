@@ -0,0 +1,80 @@
+package org.example.eventservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HashedTimingWheelTest {
+    private static final long TICK = 100;
+
+    @Test
+    void timerNeverFiresBeforeItsDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        wheel.schedule("a", 250);
+
+        assertThat(wheel.advance(249)).isEmpty();
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void timersBeyondOneRevolutionWaitForTheirRound() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+        wheel.schedule("near", 200);
+        wheel.schedule("far", 200 + 3 * 4 * TICK);
+
+        assertThat(wheel.advance(200)).containsExactly("near");
+        assertThat(wheel.advance(200 + 3 * 4 * TICK - 1)).isEmpty();
+        assertThat(wheel.advance(200 + 3 * 4 * TICK)).containsExactly("far");
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 1_000);
+        wheel.advance(1_500);
+        wheel.schedule("late", 0);
+
+        assertThat(wheel.advance(1_600)).containsExactly("late");
+    }
+
+    @Test
+    void cancelAndRescheduleReplaceThePendingTimer() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        wheel.schedule("a", 100);
+        wheel.schedule("b", 100);
+        wheel.schedule("c", 100);
+
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("b")).isFalse();
+        wheel.schedule("c", 500);
+        assertThat(wheel.scheduleIfAbsent("a", 900)).isFalse();
+
+        assertThat(wheel.advance(100)).containsExactly("a");
+        assertThat(wheel.isScheduled("c")).isTrue();
+        assertThat(wheel.advance(500)).containsExactly("c");
+    }
+
+    @Test
+    void manyTimersExpireInDeadlineOrderAcrossTicks() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 16, 0);
+        for (int i = 0; i < 10_000; i++) {
+            wheel.schedule(i, (long) i * TICK);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            List<Integer> expired = wheel.advance((long) i * TICK);
+            assertThat(expired).containsExactly(i);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void wheelSizeMustBeAPowerOfTwo() {
+        assertThatThrownBy(() -> new HashedTimingWheel<String>(TICK, 12, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.eventservice.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scheduling and cancelling a reservation expiry on {@link HashedTimingWheel} against one
+ * {@link ScheduledFuture} per ticket, with {@code pending} timers already queued. Run {@link #main} from the
+ * test classpath, e.g. {@code mvn -pl event-service test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.example.eventservice.service.ReservationExpiryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReservationExpiryBenchmark {
+    private static final long EXPIRY_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int KEYS = 1 << 16;
+
+    @Param({"10000", "1000000"})
+    public int pending;
+
+    private HashedTimingWheel<UUID> wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private Map<UUID, ScheduledFuture<?>> futures;
+    private UUID[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        wheel = new HashedTimingWheel<>(200, 512, now);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        futures = new ConcurrentHashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < pending; i++) {
+            UUID ticketId = UUID.randomUUID();
+            long delay = random.nextLong(EXPIRY_MILLIS);
+            wheel.schedule(ticketId, now + delay);
+            futures.put(ticketId, executor.schedule(() -> { }, delay, TimeUnit.MILLISECONDS));
+        }
+        keys = new UUID[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = UUID.randomUUID();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean timingWheelScheduleAndCancel() {
+        UUID ticketId = keys[next++ & (KEYS - 1)];
+        wheel.schedule(ticketId, System.currentTimeMillis() + EXPIRY_MILLIS);
+        return wheel.cancel(ticketId);
+    }
+
+    @Benchmark
+    public boolean scheduledExecutorScheduleAndCancel() {
+        UUID ticketId = keys[next++ & (KEYS - 1)];
+        futures.put(ticketId, executor.schedule(() -> { }, EXPIRY_MILLIS, TimeUnit.MILLISECONDS));
+        return futures.remove(ticketId).cancel(false);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReservationExpiryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.eventservice.service;
+
+import org.example.eventservice.dto.AddTicketsDto;
+import org.example.eventservice.model.Event;
+import org.example.eventservice.model.Venue;
+import org.example.eventservice.repository.EventRepository;
+import org.example.eventservice.repository.TicketRepository;
+import org.example.eventservice.repository.VenueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Run with {@code -Dbenchmark=true} against a local Postgres to print bulk ticket creation throughput.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TicketBulkInsertBenchmarkTests {
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private VenueRepository venueRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        Venue venue = new Venue();
+        venue.setName("Benchmark Venue");
+        venue.setAddress("1 Stadium Way");
+        venue.setCity("Bench City");
+        venue.setCountry("USA");
+        venueRepository.save(venue);
+        event = new Event();
+        event.setName("Benchmark Event");
+        event.setStartDate(LocalDateTime.now().plusDays(1));
+        event.setEndDate(LocalDateTime.now().plusDays(2));
+        event.setCreatorId(UUID.randomUUID());
+        event.setVenue(venue);
+        eventRepository.save(event);
+    }
+
+    @AfterEach
+    void reset() {
+        ticketRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        venueRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void benchmarkCreateTicketsForEvent(final int quantity) {
+        AddTicketsDto dto = new AddTicketsDto();
+        dto.setTicketType("GENERAL");
+        dto.setPrice(50.0);
+        dto.setQuantity(quantity);
+
+        long start = System.nanoTime();
+        eventService.createTicketsForEvent(event.getId(), "ADMIN", dto);
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("%,d tickets in %d ms -> %,d tickets/sec%n", quantity,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), quantity * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        assertThat(ticketRepository.count()).isEqualTo(quantity);
+    }
+}
@@ -3,6 +3,7 @@ package org.example.paymentservice.service;
 import lombok.RequiredArgsConstructor;
 import org.example.commonlibrary.ValidationException;
 import org.example.commonlibrary.kafka.MessageProducer;
+import org.example.commonlibrary.kafka.message.PaymentSuccessMessage;
 import org.example.paymentservice.dto.PaymentRequestDto;
 import org.example.paymentservice.dto.PaymentResponseDto;
 import org.example.paymentservice.mapper.PaymentMapper;
@@ -11,7 +12,6 @@ import org.example.paymentservice.repository.PaymentRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,10 +28,8 @@ public class PaymentService {
         }
         Payment payment = PaymentMapper.toPayment(paymentRequestDto);
         Payment saved = paymentRepository.save(payment);
-        messageProducer.sendMessage("payment-success", "payment-topic", Map.of(
-                "paymentId", saved.getPaymentId().toString(),
-                "bookingId", saved.getBookingId().toString()
-        ));
+        messageProducer.sendMessage("payment-success",
+                new PaymentSuccessMessage(saved.getPaymentId(), saved.getBookingId()));
         return PaymentMapper.toPaymentResponseDto(saved);
     }
 